@@ -16,7 +16,7 @@ const Station = () => {
 
   const fetchBaseId = useCallback(async () => {
     try {
-      const res = await fetch(`/api/v1/base/`);
+      const res = await fetch(`/api/v1/base/dashboard`);
       if (res.ok) {
         const data = await res.json();
         setStation(data);
@@ -34,6 +34,30 @@ export default function Mission() {
     fetchMission();
   }, [fetchMission]);
 
+  useEffect(() => {
+    const source = new EventSource("/api/v1/mission/stream");
+    source.addEventListener("mission", (event) => {
+      const update = JSON.parse(event.data);
+      if (update.id !== Number(id)) {
+        return;
+      }
+      setMission((prev) =>
+        prev === null
+          ? prev
+          : {
+              ...prev,
+              status: update.status,
+              currentObjectiveTime: update.currentObjectiveTime,
+              approxEndTime: update.approxEndTime,
+              reports: [...prev.reports, ...update.newReports],
+            }
+      );
+    });
+    return () => {
+      source.close();
+    };
+  }, [id]);
+
   async function archiveMission() {
     setSubmitting(true);
     try {
@@ -1,13 +1,17 @@
-import { useCallback, useEffect, useState } from "react";
+import { useCallback, useEffect, useRef, useState } from "react";
 import "./MissionList.css";
-import { useNavigate } from "react-router-dom";
+import { useNavigate, useOutletContext } from "react-router-dom";
 import useHandleFetchError from "../../../../hooks/useHandleFetchError";
 import { useNotificationsDispatch } from "../../../notifications/NotificationContext";
 
 export default function MissionList() {
   const handleFetchError = useHandleFetchError();
   const notifDispatch = useNotificationsDispatch();
-  const [missions, setMissions] = useState(null);
+  const { station } = useOutletContext();
+  // the dashboard already carries the active missions, so show those while they are refreshed
+  const [missions, setMissions] = useState(station.activeMissions ?? null);
+  const missionsRef = useRef(missions);
+  missionsRef.current = missions;
   const [listToShow, setListToShow] = useState("active");
   const [loading, setLoading] = useState(true);
 
@@ -45,6 +49,39 @@ export default function MissionList() {
     };
   }, [fetchMissions]);
 
+  useEffect(() => {
+    if (listToShow !== "active") {
+      return;
+    }
+    const source = new EventSource("/api/v1/mission/stream");
+    source.addEventListener("mission", (event) => {
+      const update = JSON.parse(event.data);
+      if (missionsRef.current === null) {
+        return;
+      }
+      // a mission started in another tab; updates carry no title, so reload the list to pick it up
+      if (!missionsRef.current.some((mission) => mission.id === update.id)) {
+        fetchMissions();
+        return;
+      }
+      setMissions((prev) =>
+        prev?.map((mission) =>
+          mission.id === update.id
+            ? {
+                ...mission,
+                status: update.status,
+                currentObjectiveTime: update.currentObjectiveTime,
+                approxEndTime: update.approxEndTime,
+              }
+            : mission
+        )
+      );
+    });
+    return () => {
+      source.close();
+    };
+  }, [listToShow, fetchMissions]);
+
   return (
     <div className="mission-list">
       <div className="ml-header">
@@ -78,7 +115,7 @@ export default function MissionList() {
   );
 
   function MissionListElement() {
-    if (loading) {
+    if (loading && missions === null) {
       return <div>Loading...</div>;
     } else if (missions === null || missions.length === 0) {
       return <div>No missions to show.</div>;
@@ -1,5 +1,5 @@
 import "./Hangar.css";
-import { useCallback, useEffect, useState } from "react";
+import { useCallback, useEffect, useRef, useState } from "react";
 import { useHangarContext } from "../HangarContext";
 import { useNavigate } from "react-router-dom";
 import useHandleFetchError from "../../../hooks/useHandleFetchError";
@@ -11,7 +11,8 @@ export default function Hangar({ station }) {
   const handleFetchError = useHandleFetchError();
   const notifDispatch = useNotificationsDispatch();
   const update = useHangarContext();
-  const [hangar, setHangar] = useState(null);
+  const [hangar, setHangar] = useState(station.hangar ?? null);
+  const seeded = useRef(station.hangar !== undefined);
 
   const fetchHangar = useCallback(async () => {
     try {
@@ -31,6 +32,10 @@ export default function Hangar({ station }) {
   }, [station, handleFetchError, notifDispatch]);
 
   useEffect(() => {
+    if (seeded.current) {
+      seeded.current = false;
+      return;
+    }
     fetchHangar();
   }, [update, fetchHangar]);
 
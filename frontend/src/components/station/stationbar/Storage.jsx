@@ -1,5 +1,5 @@
 import "./Storage.css";
-import { useCallback, useEffect, useState } from "react";
+import { useCallback, useEffect, useRef, useState } from "react";
 import { useStorageContext } from "../StorageContext";
 import { useNavigate } from "react-router-dom";
 import useHandleFetchError from "../../../hooks/useHandleFetchError";
@@ -11,7 +11,8 @@ export default function Storage({ station }) {
   const handleFetchError = useHandleFetchError();
   const notifDispatch = useNotificationsDispatch();
   const update = useStorageContext();
-  const [storage, setStorage] = useState(null);
+  const [storage, setStorage] = useState(station.storage ?? null);
+  const seeded = useRef(station.storage !== undefined);
 
   const fetchStorage = useCallback(async () => {
     try {
@@ -31,6 +32,10 @@ export default function Storage({ station }) {
   }, [station, handleFetchError, notifDispatch]);
 
   useEffect(() => {
+    if (seeded.current) {
+      seeded.current = false;
+      return;
+    }
     fetchStorage();
   }, [update, fetchStorage]);
 
@@ -13,6 +13,7 @@ import com.codecool.spaceship.model.station.SpaceStationManager;
 import com.codecool.spaceship.repository.LocationRepository;
 import com.codecool.spaceship.repository.UserRepository;
 import com.codecool.spaceship.service.LevelService;
+import com.codecool.spaceship.service.RandomProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,8 +21,8 @@ import org.springframework.stereotype.Service;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
 import java.util.Set;
+import java.util.random.RandomGenerator;
 
 @Service
 public class NewUserService {
@@ -31,17 +32,17 @@ public class NewUserService {
     private final UserRepository userRepository;
     private final LocationRepository locationRepository;
     private final LocationDataGenerator locationDataGenerator;
-    private final Random random;
+    private final RandomProvider randomProvider;
 
     @Autowired
     public NewUserService(PasswordEncoder passwordEncoder, LevelService levelService, UserRepository userRepository,
-                          LocationRepository locationRepository, LocationDataGenerator locationDataGenerator, Random random) {
+                          LocationRepository locationRepository, LocationDataGenerator locationDataGenerator, RandomProvider randomProvider) {
         this.passwordEncoder = passwordEncoder;
         this.levelService = levelService;
         this.userRepository = userRepository;
         this.locationRepository = locationRepository;
         this.locationDataGenerator = locationDataGenerator;
-        this.random = random;
+        this.randomProvider = randomProvider;
     }
 
     public UserEntity createUser(RegisterRequest request) {
@@ -67,6 +68,7 @@ public class NewUserService {
 
     private void createStarterLocations(UserEntity user) {
         LocalDateTime now = LocalDateTime.now(Clock.systemUTC());
+        RandomGenerator random = randomProvider.current();
 
         Location metalPlanet = Location.builder()
                 .name(locationDataGenerator.determineName())
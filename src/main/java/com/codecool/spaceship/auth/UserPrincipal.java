@@ -0,0 +1,27 @@
+package com.codecool.spaceship.auth;
+
+import com.codecool.spaceship.model.Role;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+@Getter
+@RequiredArgsConstructor
+public class UserPrincipal {
+
+    private final Long id;
+    private final String username;
+    private final Role role;
+    private final Long stationId;
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -13,8 +13,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Random;
-
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
@@ -39,9 +37,4 @@ public class ApplicationConfig {
     public PasswordEncoder passwordEncoder() {
        return new BCryptPasswordEncoder();
     }
-
-    @Bean
-    public Random random() {
-        return new Random();
-    }
 }
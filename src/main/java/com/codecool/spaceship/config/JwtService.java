@@ -1,7 +1,10 @@
 package com.codecool.spaceship.config;
 
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Role;
 import com.codecool.spaceship.model.UserEntity;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -18,6 +21,19 @@ import java.util.function.Function;
 @Service
 public class JwtService {
     private static final String SECRET_KEY = System.getenv("JWT_KEY") == null ? "thisisadefaultsecretkeythatnoonecancracksodonteventry" : System.getenv("JWT_KEY");
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+
+    public JwtService() {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -32,34 +48,27 @@ public class JwtService {
     UserDetails userDetails){
         extraClaims.putIfAbsent("userId", ((UserEntity) userDetails).getId());
         extraClaims.putIfAbsent("role", ((UserEntity) userDetails).getRole());
+        if (((UserEntity) userDetails).getSpaceStation() != null) {
+            extraClaims.putIfAbsent("stationId", ((UserEntity) userDetails).getSpaceStation().getId());
+        }
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000*60*60*24))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public UserPrincipal extractPrincipal(Claims claims) {
+        Number stationId = claims.get("stationId", Number.class);
+        return new UserPrincipal(
+                claims.get("userId", Number.class).longValue(),
+                claims.getSubject(),
+                Role.valueOf(claims.get("role", String.class)),
+                stationId == null ? null : stationId.longValue());
     }
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // the parser already rejects expired tokens, so only the claims the principal is built from are left to check
+    public boolean isTokenValid(Claims claims){
+        return claims.getSubject() != null && claims.get("userId") != null;
     }
 }
@@ -0,0 +1,43 @@
+package com.codecool.spaceship.controller;
+
+import com.codecool.spaceship.model.dto.VersionedDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> of(VersionedDTO<T> resource, ServletWebRequest request) {
+        return of(resource, request, Clock.systemUTC());
+    }
+
+    static <T> ResponseEntity<T> of(VersionedDTO<T> resource, ServletWebRequest request, Clock clock) {
+        CacheControl cacheControl = cacheControl(resource, clock);
+        // checkNotModified sets the ETag header and, on a match, the 304 status; the body is never built then
+        if (request.checkNotModified(resource.eTag())) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(resource.body().get());
+    }
+
+    private static CacheControl cacheControl(VersionedDTO<?> resource, Clock clock) {
+        if (resource.expiresAt() == null) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        long seconds = Duration.between(LocalDateTime.now(clock), resource.expiresAt()).getSeconds();
+        if (seconds <= 0) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        return CacheControl.maxAge(seconds, TimeUnit.SECONDS).cachePrivate();
+    }
+}
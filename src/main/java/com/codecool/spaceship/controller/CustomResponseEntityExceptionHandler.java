@@ -33,6 +33,13 @@ public class CustomResponseEntityExceptionHandler extends ResponseEntityExceptio
         return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(400), exception.getMessage())).build();
     }
 
+    @ExceptionHandler(value = PlayerBusyException.class)
+    public ResponseEntity<Object> handlePlayerBusyException(Exception exception) {
+        return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(429), exception.getMessage()))
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception exception) {
         return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(500), exception.getMessage())).build();
@@ -1,13 +1,19 @@
 package com.codecool.spaceship.controller;
 
+import com.codecool.spaceship.model.dto.mission.MiningMissionPreviewDTO;
 import com.codecool.spaceship.model.dto.mission.MissionDTO;
 import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
 import com.codecool.spaceship.model.dto.mission.NewMiningMissionDTO;
 import com.codecool.spaceship.model.dto.mission.NewScoutingMissionDTO;
+import com.codecool.spaceship.model.dto.mission.ScoutingMissionPreviewDTO;
 import com.codecool.spaceship.service.MissionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -46,9 +52,14 @@ public class MissionController {
         return missionService.getAllArchivedMissionsByUserId(userId);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMissionUpdates() {
+        return missionService.subscribeToMissionUpdates();
+    }
+
     @GetMapping("/{id}")
-    public MissionDetailDTO getMissionById(@PathVariable Long id) {
-        return missionService.getMissionById(id);
+    public ResponseEntity<MissionDetailDTO> getMissionById(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.of(missionService.getMissionById(id), request);
     }
 
     @PostMapping("/miner")
@@ -56,11 +67,21 @@ public class MissionController {
         return missionService.startNewMiningMission(newMissionDTO);
     }
 
+    @PostMapping("/miner/preview")
+    public MiningMissionPreviewDTO previewMiningMission(@RequestBody NewMiningMissionDTO newMissionDTO) {
+        return missionService.previewMiningMission(newMissionDTO);
+    }
+
     @PostMapping("/scout")
     public MissionDetailDTO startNewScoutingMission(@RequestBody NewScoutingMissionDTO newMissionDTO) {
         return missionService.startNewScoutingMission(newMissionDTO);
     }
 
+    @PostMapping("/scout/preview")
+    public ScoutingMissionPreviewDTO previewScoutingMission(@RequestBody NewScoutingMissionDTO newMissionDTO) {
+        return missionService.previewScoutingMission(newMissionDTO);
+    }
+
     @PatchMapping("/{id}/archive")
     public MissionDetailDTO archiveMission(@PathVariable Long id) {
         return missionService.archiveMission(id);
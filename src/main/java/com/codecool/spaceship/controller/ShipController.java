@@ -3,16 +3,17 @@ package com.codecool.spaceship.controller;
 import com.codecool.spaceship.model.dto.ship.NewShipDTO;
 import com.codecool.spaceship.model.dto.ship.ShipDTO;
 import com.codecool.spaceship.model.dto.ship.ShipDetailDTO;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.ShipType;
 import com.codecool.spaceship.model.ship.shipparts.Color;
 import com.codecool.spaceship.model.ship.shipparts.ShipPart;
 import com.codecool.spaceship.service.ShipService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("api/v1/ship")
@@ -37,13 +38,12 @@ public class ShipController {
     }
 
     @GetMapping("/{id}/detail")
-    public ShipDetailDTO getShipDetailsById(@PathVariable Long id) {
-        return shipService.getShipDetailsById(id);
-
+    public ResponseEntity<ShipDetailDTO> getShipDetailsById(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalResponses.of(shipService.getShipDetailsById(id), request);
     }
 
     @GetMapping("/{id}/upgrade")
-    public Map<ResourceType, Integer> getShipPartUpgradeCost(@PathVariable Long id, @RequestParam ShipPart part) {
+    public ResourceVector getShipPartUpgradeCost(@PathVariable Long id, @RequestParam ShipPart part) {
         return shipService.getShipPartUpgradeCost(id, part);
     }
 
@@ -69,7 +69,7 @@ public class ShipController {
     }
 
     @GetMapping("/cost/{shipType}")
-    public Map<ResourceType, Integer> getMinerShipCost(@PathVariable String shipType) {
+    public ResourceVector getMinerShipCost(@PathVariable String shipType) {
         return shipService.getShipCost(ShipType.valueOf(shipType.toUpperCase()));
     }
 
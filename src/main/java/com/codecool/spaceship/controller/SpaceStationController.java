@@ -5,13 +5,15 @@ import com.codecool.spaceship.model.dto.SpaceStationDataDTO;
 import com.codecool.spaceship.model.dto.ship.NewShipDTO;
 import com.codecool.spaceship.model.dto.SpaceStationDTO;
 import com.codecool.spaceship.model.dto.SpaceStationStorageDTO;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.dto.StationDashboardDTO;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.service.StationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.Map;
 
 @RestController
 @RequestMapping("api/v1/base")
@@ -35,14 +37,19 @@ public class SpaceStationController {
         return stationService.getBaseDataForCurrentUser();
     }
 
+    @GetMapping("/dashboard")
+    public StationDashboardDTO getDashboardForCurrentUser() {
+        return stationService.getDashboardForCurrentUser();
+    }
+
     @PostMapping("/{baseId}/add/resources")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN')")
-    public Boolean addResources(@PathVariable long baseId, @RequestBody Map<ResourceType, Integer> resources) {
+    public Boolean addResources(@PathVariable long baseId, @RequestBody ResourceVector resources) {
         return stationService.addResources(baseId, resources);
     }
 
     @PatchMapping("/{baseId}/add/resource-from-ship")
-    public Boolean moveResourceFromShipToStation(@PathVariable long baseId, @RequestParam(name = "ship") long shipId, @RequestBody Map<ResourceType, Integer> resources) {
+    public Boolean moveResourceFromShipToStation(@PathVariable long baseId, @RequestParam(name = "ship") long shipId, @RequestBody ResourceVector resources) {
         return stationService.moveResourceFromShipToStation(baseId, shipId, resources);
     }
 
@@ -52,17 +59,17 @@ public class SpaceStationController {
     }
 
     @GetMapping("/{baseId}/storage")
-    public SpaceStationStorageDTO getStationStorage(@PathVariable long baseId) {
-        return stationService.getStationStorage(baseId);
+    public ResponseEntity<SpaceStationStorageDTO> getStationStorage(@PathVariable long baseId, ServletWebRequest request) {
+        return ConditionalResponses.of(stationService.getStationStorage(baseId), request);
     }
 
     @GetMapping("/{baseId}/storage/resources")
-    public Map<ResourceType, Integer> getStoredResources(@PathVariable long baseId) {
+    public ResourceVector getStoredResources(@PathVariable long baseId) {
         return stationService.getStoredResources(baseId);
     }
 
     @GetMapping("/{baseId}/storage/upgrade")
-    public Map<ResourceType, Integer> getStorageUpgradeCost(@PathVariable long baseId) {
+    public ResourceVector getStorageUpgradeCost(@PathVariable long baseId) {
         return stationService.getStorageUpgradeCost(baseId);
     }
 
@@ -72,12 +79,12 @@ public class SpaceStationController {
     }
 
     @GetMapping("/{baseId}/hangar")
-    public HangarDTO getStationHangar(@PathVariable long baseId) {
-        return stationService.getStationHangar(baseId);
+    public ResponseEntity<HangarDTO> getStationHangar(@PathVariable long baseId, ServletWebRequest request) {
+        return ConditionalResponses.of(stationService.getStationHangar(baseId), request);
     }
 
     @GetMapping("/{baseId}/hangar/upgrade")
-    public Map<ResourceType, Integer> getHangarUpgradeCost(@PathVariable long baseId) {
+    public ResourceVector getHangarUpgradeCost(@PathVariable long baseId) {
         return stationService.getHangarUpgradeCost(baseId);
     }
 
@@ -1,20 +1,18 @@
 package com.codecool.spaceship.model;
 
 import com.codecool.spaceship.model.exception.StorageException;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.service.LevelService;
 
-import java.util.Map;
-
 public class AbstractStorageManager extends Upgradeable {
 
-    protected Map<ResourceType, Integer> storedResources;
+    protected ResourceStorage storedResources;
 
-    protected AbstractStorageManager(LevelService levelService, UpgradeableType type, int level, Map<ResourceType, Integer> storedResources) {
+    protected AbstractStorageManager(LevelService levelService, UpgradeableType type, int level, ResourceStorage storedResources) {
         super(levelService, type, level);
-        if (storedResources.values().stream().mapToInt(i -> i).sum() > super.currentLevel.getEffect()) {
-            throw new StorageException("Stored resources can't exceed %d at this level".formatted(super.currentLevel.getEffect()));
-        }
+        // a level edit can leave storage over capacity; it stays readable and simply takes no deposits
         this.storedResources = storedResources;
     }
 
@@ -23,38 +21,53 @@ public class AbstractStorageManager extends Upgradeable {
     }
 
     public int getCurrentAvailableStorageSpace() {
-        return getCurrentCapacity() - storedResources.values().stream().mapToInt(i -> i).sum();
+        return getCurrentCapacity() - storedResources.getTotal();
     }
 
-    public Map<ResourceType, Integer> getStoredResources() {
-        return storedResources;
+    public ResourceVector getStoredResources() {
+        return storedResources.toVector();
     }
 
     public boolean addResource(ResourceType resourceType, int quantity) throws StorageException {
-        if (quantity < 0) {
+        return addResources(ResourceVector.of(resourceType, quantity));
+    }
+
+    public boolean addResources(ResourceVector resources) throws StorageException {
+        if (resources.hasNegative()) {
             throw new StorageException("Can't add negative resources.");
         }
-        if (quantity > getCurrentAvailableStorageSpace()) {
+        if (resources.total() > getCurrentAvailableStorageSpace()) {
             throw new StorageException("Not enough storage space.");
         }
-        storedResources.merge(resourceType, quantity, Integer::sum);
+        storedResources.add(resources);
         return true;
     }
 
     public boolean hasResource(ResourceType resourceType, int quantity) {
-        Integer storedAmount = storedResources.get(resourceType);
-        return storedAmount != null && storedAmount >= quantity;
+        return storedResources.get(resourceType) >= quantity;
+    }
+
+    public boolean hasResources(ResourceVector resources) {
+        for (ResourceType resourceType : ResourceType.values()) {
+            if (!hasResource(resourceType, resources.get(resourceType))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public boolean removeResource(ResourceType resourceType, int quantity) throws StorageException {
-        if (quantity < 0) {
+        return removeResources(ResourceVector.of(resourceType, quantity));
+    }
+
+    public boolean removeResources(ResourceVector resources) throws StorageException {
+        if (resources.hasNegative()) {
             throw new StorageException("Can't remove negative resources.");
         }
-        if (!hasResource(resourceType, quantity)) {
+        if (!hasResources(resources)) {
             throw new StorageException("Not enough resource.");
         }
-        int newValue = storedResources.get(resourceType) - quantity;
-        storedResources.replace(resourceType, newValue);
+        storedResources.remove(resources);
         return true;
     }
 }
@@ -15,7 +15,7 @@ import java.util.Map;
 @Entity
 public class Level {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     @Enumerated(EnumType.STRING)
     private UpgradeableType type;
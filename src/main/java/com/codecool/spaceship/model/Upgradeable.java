@@ -1,11 +1,9 @@
 package com.codecool.spaceship.model;
 
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.service.LevelService;
 
-import java.util.Map;
-
 public abstract class Upgradeable {
 
     private final LevelService levelService;
@@ -20,14 +18,14 @@ public abstract class Upgradeable {
         return currentLevel.isMax();
     }
 
-    public Map<ResourceType,Integer> getUpgradeCost() throws UpgradeNotAvailableException {
+    public ResourceVector getUpgradeCost() throws UpgradeNotAvailableException {
         if (isFullyUpgraded()) {
             throw new UpgradeNotAvailableException("Already at max level");
         } else {
             Integer level = currentLevel.getLevel();
             UpgradeableType type = currentLevel.getType();
             Level nextLevel = levelService.getLevelByTypeAndLevel(type, level + 1);
-            return nextLevel.getCost();
+            return ResourceVector.of(nextLevel.getCost());
         }
     }
 
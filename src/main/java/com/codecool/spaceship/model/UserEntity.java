@@ -17,7 +17,7 @@ import java.util.Collection;
 @Table(name = "_user")
 public class UserEntity implements UserDetails {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @GeneratedValue(strategy = GenerationType.SEQUENCE)
    private Long id;
    @Column(unique = true)
    private String username;
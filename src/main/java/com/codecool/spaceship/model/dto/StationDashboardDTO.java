@@ -0,0 +1,12 @@
+package com.codecool.spaceship.model.dto;
+
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
+import com.codecool.spaceship.model.resource.ResourceVector;
+
+import java.util.List;
+
+public record StationDashboardDTO(long id, String name, HangarDTO hangar, SpaceStationStorageDTO storage,
+                                  ResourceVector hangarUpgradeCost, ResourceVector storageUpgradeCost,
+                                  List<MissionDTO> activeMissions) {
+
+}
@@ -0,0 +1,23 @@
+package com.codecool.spaceship.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public record VersionedDTO<T>(String eTag, LocalDateTime expiresAt, Supplier<T> body) {
+
+    public static <T> VersionedDTO<T> of(Supplier<T> body, String prefix, Long... versions) {
+        return new VersionedDTO<>(eTag(prefix, versions), null, body);
+    }
+
+    public static <T> VersionedDTO<T> of(Supplier<T> body, LocalDateTime expiresAt, String prefix, Long... versions) {
+        return new VersionedDTO<>(eTag(prefix, versions), expiresAt, body);
+    }
+
+    private static String eTag(String prefix, Long... versions) {
+        return Arrays.stream(versions)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"" + prefix + "-", "\""));
+    }
+}
@@ -1,6 +1,12 @@
 package com.codecool.spaceship.model.dto.mission;
 
+import com.codecool.spaceship.model.mission.Event;
+
 import java.time.LocalDateTime;
 
 public record EventDTO(LocalDateTime time, String message) {
+
+    public EventDTO(Event event) {
+        this(event.getEndTime(), event.getEventMessage().render(event));
+    }
 }
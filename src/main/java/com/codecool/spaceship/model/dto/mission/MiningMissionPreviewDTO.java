@@ -0,0 +1,4 @@
+package com.codecool.spaceship.model.dto.mission;
+
+public record MiningMissionPreviewDTO(long travelDurationInSecs, long miningDurationInSecs, int expectedAmount) {
+}
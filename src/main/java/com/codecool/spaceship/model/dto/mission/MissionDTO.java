@@ -1,6 +1,7 @@
 package com.codecool.spaceship.model.dto.mission;
 
 import com.codecool.spaceship.model.mission.*;
+import com.codecool.spaceship.model.resource.ResourceType;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -17,25 +18,23 @@ public class MissionDTO {
     private final LocalDateTime currentObjectiveTime;
     private final LocalDateTime approxEndTime;
 
-    public MissionDTO(Mission mission) {
-        this(mission.getId(), generateTitle(mission), getMissionType(mission), mission.getCurrentStatus(),
-                mission.getCurrentObjectiveTime(), mission.getApproxEndTime());
+    public MissionDTO(long id, Class<? extends Mission> missionClass, MissionStatus status, LocalDateTime currentObjectiveTime,
+                      LocalDateTime approxEndTime, String locationName, ResourceType targetResource) {
+        this(id, generateTitle(getMissionType(missionClass), locationName, targetResource), getMissionType(missionClass), status,
+                currentObjectiveTime, approxEndTime);
     }
 
-    private static String generateTitle(Mission mission) {
-        if (mission instanceof MiningMission) {
-            return "Mining mission on %s".formatted(((MiningMission) mission).getLocation().getName());
-        } else if (mission instanceof ScoutingMission) {
-            return "Exploration mission for %s".formatted(((ScoutingMission)mission).getTargetResource().toString().toLowerCase());
-        } else {
-            throw new RuntimeException("Mission type not recognized");
-        }
+    private static String generateTitle(MissionType missionType, String locationName, ResourceType targetResource) {
+        return switch (missionType) {
+            case MINING -> "Mining mission on %s".formatted(locationName);
+            case SCOUTING -> "Exploration mission for %s".formatted(targetResource.toString().toLowerCase());
+        };
     }
 
-    private static MissionType getMissionType(Mission mission) {
-        if (mission instanceof MiningMission) {
+    private static MissionType getMissionType(Class<? extends Mission> missionClass) {
+        if (MiningMission.class.isAssignableFrom(missionClass)) {
             return MissionType.MINING;
-        } else if (mission instanceof ScoutingMission) {
+        } else if (ScoutingMission.class.isAssignableFrom(missionClass)) {
             return MissionType.SCOUTING;
         } else {
             throw new RuntimeException("Unrecognized mission type");
@@ -25,10 +25,10 @@ public abstract class MissionDetailDTO extends MissionDTO {
         shipName = ship.getName();
     }
 
-    private static List<EventDTO> formatEventLog(List<Event> events) {
+    static List<EventDTO> formatEventLog(List<Event> events) {
         return events.stream()
                 .filter(event -> Objects.nonNull(event.getEventMessage()))
-                .map(event -> new EventDTO(event.getEndTime(), event.getEventMessage()))
+                .map(EventDTO::new)
                 .toList();
     }
 }
@@ -0,0 +1,25 @@
+package com.codecool.spaceship.model.dto.mission;
+
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.MissionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record MissionUpdateDTO(long id, MissionStatus status, LocalDateTime currentObjectiveTime,
+                               LocalDateTime approxEndTime, List<EventDTO> newReports) {
+
+    public MissionUpdateDTO(Mission mission, int knownReports) {
+        this(mission.getId(), mission.getCurrentStatus(), mission.getCurrentObjectiveTime(), mission.getApproxEndTime(),
+                getNewReports(mission, knownReports));
+    }
+
+    public static int countReports(Mission mission) {
+        return mission.getEvents() == null ? 0 : MissionDetailDTO.formatEventLog(mission.getEvents()).size();
+    }
+
+    private static List<EventDTO> getNewReports(Mission mission, int knownReports) {
+        List<EventDTO> reports = MissionDetailDTO.formatEventLog(mission.getEvents());
+        return reports.subList(Math.min(knownReports, reports.size()), reports.size());
+    }
+}
@@ -0,0 +1,4 @@
+package com.codecool.spaceship.model.dto.mission;
+
+public record ScoutingMissionPreviewDTO(long travelDurationInSecs, double discoveryProbability) {
+}
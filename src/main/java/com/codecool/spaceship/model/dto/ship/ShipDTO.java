@@ -2,8 +2,6 @@ package com.codecool.spaceship.model.dto.ship;
 
 
 import com.codecool.spaceship.model.mission.Mission;
-import com.codecool.spaceship.model.ship.MinerShip;
-import com.codecool.spaceship.model.ship.ScoutShip;
 import com.codecool.spaceship.model.ship.ShipType;
 import com.codecool.spaceship.model.ship.SpaceShip;
 import com.codecool.spaceship.model.ship.shipparts.Color;
@@ -22,17 +20,7 @@ public class ShipDTO {
         this(id, name, color, type, getCurrentMissionId(mission));
     }
     public ShipDTO(SpaceShip ship) {
-        this(ship.getId(), ship.getName(), ship.getColor(), getShipType(ship), getCurrentMissionId(ship.getCurrentMission()));
-    }
-
-    private static ShipType getShipType(SpaceShip ship) {
-        if (ship instanceof MinerShip) {
-            return ShipType.MINER;
-        } else if (ship instanceof ScoutShip){
-            return ShipType.SCOUT;
-        } else {
-            throw new RuntimeException("Unrecognized ship type");
-        }
+        this(ship.getId(), ship.getName(), ship.getColor(), ship.getType(), getCurrentMissionId(ship.getCurrentMission()));
     }
 
     private static Long getCurrentMissionId(Mission mission) {
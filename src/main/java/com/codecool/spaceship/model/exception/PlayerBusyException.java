@@ -0,0 +1,7 @@
+package com.codecool.spaceship.model.exception;
+
+public class PlayerBusyException extends RuntimeException {
+    public PlayerBusyException(String message) {
+        super(message);
+    }
+}
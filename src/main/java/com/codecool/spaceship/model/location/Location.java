@@ -19,8 +19,10 @@ import java.time.LocalDateTime;
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private LocalDateTime discovered;
     private int distanceFromStation;
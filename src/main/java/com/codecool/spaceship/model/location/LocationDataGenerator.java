@@ -1,9 +1,11 @@
 package com.codecool.spaceship.model.location;
 
+import com.codecool.spaceship.service.RandomProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 @Component
 public class LocationDataGenerator {
@@ -13,14 +15,19 @@ public class LocationDataGenerator {
     "Drypso", "Euruta", "Crosie", "Noveria", "Abatov", "Ferrix", "Rakis"};
     private static final String[] GREEK = {"Alpha", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta", "Iota", "Kappa",
             "Lambda", "Mu", "Nu", "Xi", "Omicron", "Pi", "Rho", "Sigma", "Tau", "Upsilon", "Phi", "Chi", "Psi", "Omega"};
-    private final Random random;
+    private final Supplier<RandomGenerator> randomSource;
 
     @Autowired
-    public LocationDataGenerator(Random random) {
-        this.random = random;
+    public LocationDataGenerator(RandomProvider randomProvider) {
+        this.randomSource = randomProvider::current;
+    }
+
+    public LocationDataGenerator(RandomGenerator random) {
+        this.randomSource = () -> random;
     }
 
     public String determineName() {
+        RandomGenerator random = randomSource.get();
         StringBuilder nameBuilder = new StringBuilder(NAMES[random.nextInt(NAMES.length)]);
         nameBuilder.append("-");
         nameBuilder.append(random.nextInt(1, 1000));
@@ -36,16 +43,22 @@ public class LocationDataGenerator {
 
     public boolean determinePlanetFound(int efficiency, double hours, int distance) {
         double base = hours * distance * efficiency;
-        double randomNum = random.nextDouble(10.0);
+        double randomNum = randomSource.get().nextDouble(10.0);
         return base * randomNum > 50;
     }
 
+    public static double planetFoundProbability(int efficiency, double hours, int distance) {
+        // determinePlanetFound draws uniformly from [0, 10), so it succeeds when the draw exceeds 50 / base
+        double base = hours * distance * efficiency;
+        return base <= 0 ? 0 : Math.max(0, 1 - 5 / base);
+    }
+
     public int determineResourceReserves(int efficiency, double hours, boolean prioritize) {
         double weighedEfficiency = efficiency * (prioritize ? 15 : 0.5);
         double weighedHours = hours * (prioritize ? 40 : 5);
         double base = weighedEfficiency + weighedHours;
         int bound = (int) (200 * Math.ceil(efficiency / 10.0));
-        int randomNum = random.nextInt(bound);
+        int randomNum = randomSource.get().nextInt(bound);
         int generatedNumber = (int) Math.round(base + randomNum);
         return Math.min(1000, generatedNumber);
     }
@@ -55,6 +68,6 @@ public class LocationDataGenerator {
         double weighedDistance = distance * (prioritize ? 0.25 : 0.75);
         int origin = Math.max(1, (int) (distance - weighedEfficiency));
         int bound = (int) (distance + weighedDistance);
-        return random.nextInt(origin, bound);
+        return randomSource.get().nextInt(origin, bound);
     }
 }
@@ -0,0 +1,6 @@
+package com.codecool.spaceship.model.mission;
+
+import java.time.LocalDateTime;
+
+public record DueMission(Long id, LocalDateTime currentObjectiveTime) {
+}
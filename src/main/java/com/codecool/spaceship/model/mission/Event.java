@@ -1,9 +1,7 @@
 package com.codecool.spaceship.model.mission;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,14 +12,29 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
-@Entity
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Event {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
     private LocalDateTime endTime;
     private EventType eventType;
-    private String eventMessage;
+    private EventMessage eventMessage;
+    private ResourceType resourceType;
+    private Integer amount;
+    private String locationName;
+
+    public void setEventMessage(EventMessage eventMessage) {
+        this.eventMessage = eventMessage;
+    }
+
+    public void setEventMessage(EventMessage eventMessage, String locationName) {
+        this.eventMessage = eventMessage;
+        this.locationName = locationName;
+    }
+
+    public void setEventMessage(EventMessage eventMessage, int amount, ResourceType resourceType) {
+        this.eventMessage = eventMessage;
+        this.amount = amount;
+        this.resourceType = resourceType;
+    }
 }
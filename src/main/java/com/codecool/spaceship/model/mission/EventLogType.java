@@ -0,0 +1,111 @@
+package com.codecool.spaceship.model.mission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class EventLogType implements UserType<List<Event>> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final TypeReference<ArrayList<Event>> EVENT_LOG_TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public int getSqlType() {
+        return Types.VARCHAR;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<List<Event>> returnedClass() {
+        return (Class<List<Event>>) (Class<?>) List.class;
+    }
+
+    @Override
+    public boolean equals(List<Event> x, List<Event> y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(List<Event> events) {
+        return Objects.hashCode(events);
+    }
+
+    @Override
+    public List<Event> nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner) throws SQLException {
+        String json = rs.getString(position);
+        return json == null ? new ArrayList<>() : fromJson(json);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, List<Event> events, int index, SharedSessionContractImplementor session) throws SQLException {
+        if (events == null) {
+            st.setNull(index, Types.VARCHAR);
+        } else {
+            st.setString(index, toJson(events));
+        }
+    }
+
+    @Override
+    public List<Event> deepCopy(List<Event> events) {
+        if (events == null) {
+            return null;
+        }
+        List<Event> copy = new ArrayList<>(events.size());
+        for (Event event : events) {
+            copy.add(event.toBuilder().build());
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(List<Event> events) {
+        return events == null ? null : toJson(events);
+    }
+
+    @Override
+    public List<Event> assemble(Serializable cached, Object owner) {
+        return cached == null ? null : fromJson((String) cached);
+    }
+
+    @Override
+    public List<Event> replace(List<Event> detached, List<Event> managed, Object owner) {
+        return deepCopy(detached);
+    }
+
+    private static String toJson(List<Event> events) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(events);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event log", e);
+        }
+    }
+
+    private static List<Event> fromJson(String json) {
+        try {
+            return OBJECT_MAPPER.readValue(json, EVENT_LOG_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read event log", e);
+        }
+    }
+}
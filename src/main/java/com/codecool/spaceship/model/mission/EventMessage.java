@@ -0,0 +1,77 @@
+package com.codecool.spaceship.model.mission;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public enum EventMessage {
+
+    MINING_STARTED("Left station for mining mission on %s.", Param.LOCATION),
+    MINING_ARRIVED("Arrived on %s. Starting mining operation.", Param.LOCATION),
+    MINING_COMPLETE("Mining complete. Mined %d %s(s). Returning to station.", Param.AMOUNT, Param.RESOURCE),
+    PLANET_DEPLETED("Planet depleted. Mined %d %s(s). Returning to station.", Param.AMOUNT, Param.RESOURCE),
+    STORAGE_FULL("Storage is full. Mined %d %s(s). Returning to station.", Param.AMOUNT, Param.RESOURCE),
+    MINING_ABORTED("Mission aborted by Command. Mined %d %s(s). Returning to station.", Param.AMOUNT, Param.RESOURCE),
+    SCOUTING_STARTED("Left station to discover new planet with %s.", Param.RESOURCE),
+    SCAN_STARTED("Reached target distance. Starting scan."),
+    SCAN_FINISHED("Finished scanning. Returning to station."),
+    SCAN_ABORTED("Mission aborted by Command. Shutting down scan. Returning to station."),
+    NO_PLANET_DISCOVERED("Returned to station.\nNo new planet discovered."),
+    PLANET_DISCOVERED("Returned to station.\nScan data decoded, discovered new planet: %s", Param.LOCATION),
+    ABORTED("Mission aborted by Command. Returning to station."),
+    PIRATE_ATTACK("Attacked by pirates. Shield absorbed %d damage.", Param.AMOUNT),
+    PIRATE_RAID("Attacked by pirates. Shield failed, pirates took %d resource(s).", Param.AMOUNT),
+    METEOR_STORM("Flew through a meteor storm. Shield absorbed %d damage.", Param.AMOUNT),
+    RETURNED("Returned to station.");
+
+    private static final int RENDER_CACHE_SIZE = 1024;
+    // the lock only covers the lookup and the insert, never the formatting
+    private static final Map<RenderKey, String> RENDER_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+                    return size() > RENDER_CACHE_SIZE;
+                }
+            });
+
+    private final String template;
+    private final Param[] params;
+
+    EventMessage(String template, Param... params) {
+        this.template = template;
+        this.params = params;
+    }
+
+    public String render(Event event) {
+        if (params.length == 0) {
+            return template;
+        }
+        RenderKey key = new RenderKey(this, Arrays.stream(params)
+                .map(param -> param.extractor.apply(event))
+                .toList());
+        String rendered = RENDER_CACHE.get(key);
+        if (rendered == null) {
+            rendered = template.formatted(key.args().toArray());
+            RENDER_CACHE.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    private record RenderKey(EventMessage message, List<Object> args) {
+    }
+
+    private enum Param {
+        AMOUNT(Event::getAmount),
+        RESOURCE(Event::getResourceType),
+        LOCATION(Event::getLocationName);
+
+        private final Function<Event, Object> extractor;
+
+        Param(Function<Event, Object> extractor) {
+            this.extractor = extractor;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.codecool.spaceship.model.mission;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Hazard {
+
+    private EventType eventType;
+    private MissionStatus leg;
+    // share of the leg travelled when the hazard strikes, in thousandths
+    private int progress;
+    private int damage;
+    private int cargoLossPercent;
+}
@@ -0,0 +1,41 @@
+package com.codecool.spaceship.model.mission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+@Converter
+public class HazardListConverter implements AttributeConverter<List<Hazard>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Hazard>> HAZARD_LIST_TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<Hazard> hazards) {
+        if (hazards == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(hazards);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize hazard schedule", e);
+        }
+    }
+
+    @Override
+    public List<Hazard> convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, HAZARD_LIST_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read hazard schedule", e);
+        }
+    }
+}
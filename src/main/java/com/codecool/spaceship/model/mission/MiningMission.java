@@ -11,9 +11,15 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DiscriminatorValue("MINING")
 public class MiningMission extends Mission {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     private Location location;
+
+    @Override
+    public MissionType getType() {
+        return MissionType.MINING;
+    }
 }
@@ -1,26 +1,29 @@
 package com.codecool.spaceship.model.mission;
 
 import com.codecool.spaceship.model.dto.mission.MiningMissionDTO;
+import com.codecool.spaceship.model.dto.mission.MiningMissionPreviewDTO;
 import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
 import com.codecool.spaceship.model.exception.IllegalOperationException;
 import com.codecool.spaceship.model.location.Location;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.MinerShipManager;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class MiningMissionManager extends MissionManager {
 
-    public MiningMissionManager(MiningMission mission, Clock clock, Random random, MinerShipManager minerShipManager) {
+    public MiningMissionManager(MiningMission mission, Clock clock, RandomGenerator random, MinerShipManager minerShipManager) {
         super(mission, clock, random, minerShipManager);
     }
 
     public MiningMissionManager(MiningMission mission, MinerShipManager minerShipManager) {
-        this(mission, Clock.systemUTC(), new Random(), minerShipManager);
+        this(mission, Clock.systemUTC(), new SplittableRandom(mission.getSeed()), minerShipManager);
     }
 
     public static MiningMission startMiningMission(MinerShipManager minerShipManager, Location location, long activityDurationInSecs, Clock clock) throws IllegalOperationException {
@@ -87,9 +90,9 @@ public class MiningMissionManager extends MissionManager {
             ResourceType resourceType = location.getResourceType();
             minerShipManager.addResourceToStorage(resourceType, minedResources);
 
-            abortEvent.setEventMessage("Mission aborted by Command. Mined %d %s(s). Returning to station.".formatted(minedResources, resourceType));
+            abortEvent.setEventMessage(EventMessage.MINING_ABORTED, minedResources, resourceType);
         } else {
-            abortEvent.setEventMessage("Mission aborted by Command. Returning to station.");
+            abortEvent.setEventMessage(EventMessage.ABORTED);
         }
 
         pushNewEvent(abortEvent);
@@ -103,7 +106,8 @@ public class MiningMissionManager extends MissionManager {
         Event startEvent = Event.builder()
                 .endTime(mission.getStartTime())
                 .eventType(EventType.START)
-                .eventMessage("Left station for mining mission on %s.".formatted(((MiningMission) mission).getLocation().getName()))
+                .eventMessage(EventMessage.MINING_STARTED)
+                .locationName(((MiningMission) mission).getLocation().getName())
                 .build();
         pushNewEvent(startEvent);
     }
@@ -115,7 +119,7 @@ public class MiningMissionManager extends MissionManager {
         LocalDateTime lastEventTime = peekLastEvent().getEndTime();
         mission.setCurrentObjectiveTime(lastEventTime.plusSeconds(mission.getActivityDurationInSecs()));
         Location location = ((MiningMission) mission).getLocation();
-        peekLastEvent().setEventMessage("Arrived on %s. Starting mining operation.".formatted(location.getName()));
+        peekLastEvent().setEventMessage(EventMessage.MINING_ARRIVED, location.getName());
         long miningDurationInSecs = calculateMiningDurationInSecs();
         mission.setActivityDurationInSecs(miningDurationInSecs);
         Event activityEvent = Event.builder()
@@ -137,13 +141,13 @@ public class MiningMissionManager extends MissionManager {
         minerShipManager.addResourceToStorage(resourceType, minedResources);
 
         if (location.getResourceReserve() <= 0) {
-            peekLastEvent().setEventMessage("Planet depleted. Mined %d %s(s). Returning to station.".formatted(minedResources, resourceType));
+            peekLastEvent().setEventMessage(EventMessage.PLANET_DEPLETED, minedResources, resourceType);
             mission.setApproxEndTime(peekLastEvent().getEndTime().plusSeconds(mission.getTravelDurationInSecs()));
         } else if (minerShipManager.getEmptyStorageSpace() == 0) {
-            peekLastEvent().setEventMessage("Storage is full. Mined %d %s(s). Returning to station.".formatted(minedResources, resourceType));
+            peekLastEvent().setEventMessage(EventMessage.STORAGE_FULL, minedResources, resourceType);
             mission.setApproxEndTime(peekLastEvent().getEndTime().plusSeconds(mission.getTravelDurationInSecs()));
         } else {
-            peekLastEvent().setEventMessage("Mining complete. Mined %d %s(s). Returning to station.".formatted(minedResources, resourceType));
+            peekLastEvent().setEventMessage(EventMessage.MINING_COMPLETE, minedResources, resourceType);
         }
 
         startReturnTravel();
@@ -151,30 +155,48 @@ public class MiningMissionManager extends MissionManager {
 
     @Override
     protected void endMission() {
-        peekLastEvent().setEventMessage("Returned to station.");
+        peekLastEvent().setEventMessage(EventMessage.RETURNED);
         mission.setCurrentStatus(MissionStatus.OVER);
         shipManager.endMission();
         ((MiningMission) mission).getLocation().setCurrentMission(null);
     }
 
-    private void simulatePirateAttack() {
-        //TODO
-        generateEnRouteEvents();
+    @Override
+    protected int loseCargo(int percent) {
+        MinerShipManager minerShipManager = (MinerShipManager) shipManager;
+        ResourceVector cargo = minerShipManager.getStorageContents();
+        ResourceVector lost = ResourceVector.ZERO;
+        for (ResourceType resourceType : ResourceType.values()) {
+            lost = lost.plus(resourceType, cargo.get(resourceType) * percent / 100);
+        }
+        minerShipManager.removeResourcesFromStorage(lost);
+        return lost.total();
     }
 
-    private void simulateMeteorStorm() {
-        //TODO
-        generateEnRouteEvents();
+    public static MiningMissionPreviewDTO preview(MinerShipManager minerShipManager, Location location, long activityDurationInSecs) {
+        if (activityDurationInSecs <= 0) {
+            throw new IllegalArgumentException("Activity duration can't be 0 or less");
+        }
+        long travelDurationInSecs = calculateTravelDurationInSecs(minerShipManager, location.getDistanceFromStation());
+        int drillEfficiency = minerShipManager.getDrillEfficiency();
+        int emptyStorageSpace = minerShipManager.getEmptyStorageSpace();
+        int resourceReserve = location.getResourceReserve();
+        long miningDurationInSecs = calculateMiningDurationInSecs(drillEfficiency, emptyStorageSpace, resourceReserve, activityDurationInSecs);
+        int expectedAmount = Math.min(calculateMinedResources(drillEfficiency, miningDurationInSecs), Math.min(emptyStorageSpace, resourceReserve));
+        return new MiningMissionPreviewDTO(travelDurationInSecs, miningDurationInSecs, expectedAmount);
     }
 
     private long calculateMiningDurationInSecs() {
         MinerShipManager minerShipManager = (MinerShipManager) shipManager;
         int resourceReserve = ((MiningMission) mission).getLocation().getResourceReserve();
-        int resourceMinedPerHour = minerShipManager.getDrillEfficiency();
-        int resourceMinedInSetTime = calculateMinedResources();
-        int emptyStorageSpace = minerShipManager.getEmptyStorageSpace();
+        return calculateMiningDurationInSecs(minerShipManager.getDrillEfficiency(), minerShipManager.getEmptyStorageSpace(),
+                resourceReserve, mission.getActivityDurationInSecs());
+    }
+
+    private static long calculateMiningDurationInSecs(int resourceMinedPerHour, int emptyStorageSpace, int resourceReserve, long activityDurationInSecs) {
+        int resourceMinedInSetTime = calculateMinedResources(resourceMinedPerHour, activityDurationInSecs);
         if (resourceMinedInSetTime <= emptyStorageSpace && resourceMinedInSetTime <= resourceReserve) {
-            return mission.getActivityDurationInSecs();
+            return activityDurationInSecs;
         } else if (emptyStorageSpace <= resourceReserve) {
             double hoursNeededToFillStorage = (double) emptyStorageSpace / resourceMinedPerHour;
             return (long) Math.ceil(hoursNeededToFillStorage * 60 * 60);
@@ -185,8 +207,11 @@ public class MiningMissionManager extends MissionManager {
     }
 
     private int calculateMinedResources() {
-        int resourceMinedPerHour = ((MinerShipManager) shipManager).getDrillEfficiency();
-        double activityDurationInHours = mission.getActivityDurationInSecs() / 60.0 / 60.0;
+        return calculateMinedResources(((MinerShipManager) shipManager).getDrillEfficiency(), mission.getActivityDurationInSecs());
+    }
+
+    private static int calculateMinedResources(int resourceMinedPerHour, long activityDurationInSecs) {
+        double activityDurationInHours = activityDurationInSecs / 60.0 / 60.0;
         return (int) Math.floor(resourceMinedPerHour * activityDurationInHours);
     }
 
@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,13 +18,17 @@ import java.util.List;
 @AllArgsConstructor
 @SuperBuilder
 @Entity
-@Inheritance(strategy = InheritanceType.JOINED)
+@Table(indexes = @Index(name = "idx_mission_objective_time_id_status", columnList = "currentObjectiveTime, id, currentStatus"))
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "mission_type")
 @Transactional
 public abstract class Mission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
+    @Version
+    private Long version;
     private LocalDateTime startTime;
     private LocalDateTime currentObjectiveTime;
     private LocalDateTime approxEndTime;
@@ -31,13 +36,23 @@ public abstract class Mission {
     private MissionStatus currentStatus;
     private long travelDurationInSecs;
     private long activityDurationInSecs;
+    private long seed;
     @ManyToOne(cascade = CascadeType.MERGE)
     @JoinColumn(name = "ship_id")
     private SpaceShip ship;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
-    @OneToMany(cascade = CascadeType.MERGE)
-    @JoinColumn(name = "mission_id")
+    @Type(EventLogType.class)
+    @Column(columnDefinition = "text")
     private List<Event> events;
+    @Convert(converter = HazardListConverter.class)
+    @Column(columnDefinition = "text")
+    private List<Hazard> hazards;
+
+    public LocalDateTime getNextTransitionTime() {
+        return events == null || events.isEmpty() ? currentObjectiveTime : events.get(events.size() - 1).getEndTime();
+    }
+
+    public abstract MissionType getType();
 }
@@ -1,26 +1,30 @@
 package com.codecool.spaceship.model.mission;
 
 import com.codecool.spaceship.model.location.Location;
-import com.codecool.spaceship.model.location.LocationDataGenerator;
 import com.codecool.spaceship.model.resource.ResourceType;
 import com.codecool.spaceship.model.ship.*;
+import com.codecool.spaceship.service.RandomProvider;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.time.Clock;
 
 @Component
 public class MissionFactory {
 
     private final ShipManagerFactory shipManagerFactory;
+    private final RandomProvider randomProvider;
 
-    public MissionFactory(ShipManagerFactory shipManagerFactory) {
+    public MissionFactory(ShipManagerFactory shipManagerFactory, RandomProvider randomProvider) {
         this.shipManagerFactory = shipManagerFactory;
+        this.randomProvider = randomProvider;
     }
 
     public MiningMission startNewMiningMission(MinerShip spaceShip, Location location, long activityDurationInSecs) {
         SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(spaceShip);
         if (spaceShipManager instanceof MinerShipManager) {
-            return MiningMissionManager.startMiningMission((MinerShipManager) spaceShipManager, location, activityDurationInSecs);
+            MiningMission mission = MiningMissionManager.startMiningMission((MinerShipManager) spaceShipManager, location, activityDurationInSecs);
+            seed(mission);
+            return mission;
         } else {
             throw new RuntimeException("Invalid ship manager.");
         }
@@ -30,20 +34,24 @@ public class MissionFactory {
                                                     ResourceType targetResource, boolean prioritizeDistance) {
         SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(spaceShip);
         if (spaceShipManager instanceof ScoutShipManager) {
-            return ScoutingMissionManager.startScoutingMission((ScoutShipManager) spaceShipManager, distance, activityDurationInSecs, targetResource, prioritizeDistance);
+            ScoutingMission mission = ScoutingMissionManager.startScoutingMission((ScoutShipManager) spaceShipManager, distance, activityDurationInSecs, targetResource, prioritizeDistance);
+            seed(mission);
+            return mission;
         } else {
             throw new RuntimeException("Invalid ship manager.");
         }
     }
+    private void seed(Mission mission) {
+        mission.setSeed(randomProvider.newSeed());
+        mission.setHazards(MissionManager.planHazards(randomProvider.forHazards(mission), mission.getShip().getShieldLevel()));
+    }
+
     public MissionManager getMissionManager(Mission mission) {
         SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(mission.getShip());
-        if (mission instanceof MiningMission) {
-            return new MiningMissionManager((MiningMission) mission, (MinerShipManager) spaceShipManager);
-        } else if (mission instanceof  ScoutingMission) {
-            return new ScoutingMissionManager((ScoutingMission) mission, (ScoutShipManager) spaceShipManager, new LocationDataGenerator(new Random()));
-        } else {
-            throw new RuntimeException("Mission type is not recognized");
-        }
+        return switch (mission.getType()) {
+            case MINING -> new MiningMissionManager((MiningMission) mission, Clock.systemUTC(), randomProvider.forMission(mission), (MinerShipManager) spaceShipManager);
+            case SCOUTING -> new ScoutingMissionManager((ScoutingMission) mission, Clock.systemUTC(), randomProvider.forMission(mission), (ScoutShipManager) spaceShipManager);
+        };
     }
 
 }
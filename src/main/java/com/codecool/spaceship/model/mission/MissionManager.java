@@ -7,18 +7,22 @@ import com.codecool.spaceship.model.ship.SpaceShipManager;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public abstract class MissionManager {
 
+    private static final double PIRATE_ATTACK_CHANCE = 0.25;
+    private static final double METEOR_STORM_CHANCE = 0.15;
+
     protected final Mission mission;
     protected final Clock clock;
 
-    protected final Random random;
+    protected final RandomGenerator random;
     protected SpaceShipManager shipManager;
 
-    public MissionManager(Mission mission, Clock clock, Random random, SpaceShipManager spaceShipManager) {
+    public MissionManager(Mission mission, Clock clock, RandomGenerator random, SpaceShipManager spaceShipManager) {
         this.mission = mission;
         this.clock = clock;
         this.random = random;
@@ -41,21 +45,26 @@ public abstract class MissionManager {
         if (mission.getEvents().isEmpty()) {
             addStartEvent();
         }
-        Event lastEvent = peekLastEvent();
-        if (mission.getCurrentStatus() == MissionStatus.OVER
-                || mission.getCurrentStatus() == MissionStatus.ARCHIVED
-                || lastEvent.getEndTime().isAfter(LocalDateTime.now(clock))) {
-            return false;
-        }
-        switch (lastEvent.getEventType()) {
-            case START -> generateEnRouteEvents();
-            case ARRIVAL_AT_LOCATION -> startActivity();
-            case ACTIVITY_COMPLETE -> finishActivity();
-            case RETURNED_TO_STATION -> endMission();
-            default -> throw new RuntimeException("Unknown activity type");
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean updated = false;
+        while (hasPendingTransition(now)) {
+            switch (peekLastEvent().getEventType()) {
+                case START -> generateEnRouteEvents();
+                case ARRIVAL_AT_LOCATION -> startActivity();
+                case ACTIVITY_COMPLETE -> finishActivity();
+                case RETURNED_TO_STATION -> endMission();
+                case PIRATE_ATTACK, METEOR_STORM -> resolveHazard();
+                default -> throw new RuntimeException("Unknown activity type");
+            }
+            updated = true;
         }
-        updateStatus();
-        return true;
+        return updated;
+    }
+
+    private boolean hasPendingTransition(LocalDateTime now) {
+        return mission.getCurrentStatus() != MissionStatus.OVER
+                && mission.getCurrentStatus() != MissionStatus.ARCHIVED
+                && !peekLastEvent().getEndTime().isAfter(now);
     }
 
     public abstract boolean abortMission() throws IllegalOperationException;
@@ -93,8 +102,67 @@ public abstract class MissionManager {
     }
 
     protected void generateEnRouteEvents() {
-        //TODO add pirateAttack/Meteor Storm based on chance
-        //else event for arrival at destination gets added
+        Hazard hazard = findHazard(mission.getCurrentStatus());
+        if (hazard == null) {
+            pushTravelEvent();
+            return;
+        }
+        LocalDateTime legStart = peekLastEvent().getEndTime();
+        long legDurationInSecs = Duration.between(legStart, mission.getCurrentObjectiveTime()).getSeconds();
+        Event hazardEvent = Event.builder()
+                .endTime(legStart.plusSeconds(legDurationInSecs * hazard.getProgress() / 1000))
+                .eventType(hazard.getEventType())
+                .build();
+        pushNewEvent(hazardEvent);
+    }
+
+    private void resolveHazard() {
+        Event hazardEvent = peekLastEvent();
+        Hazard hazard = findHazard(mission.getCurrentStatus());
+        int absorbed = Math.min(hazard.getDamage(), shipManager.getShieldEnergy());
+        shipManager.damageShield(hazard.getDamage());
+        if (hazard.getEventType() == EventType.METEOR_STORM) {
+            hazardEvent.setEventMessage(EventMessage.METEOR_STORM);
+            hazardEvent.setAmount(absorbed);
+        } else {
+            int lost = shipManager.getShieldEnergy() == 0 ? loseCargo(hazard.getCargoLossPercent()) : 0;
+            hazardEvent.setEventMessage(lost > 0 ? EventMessage.PIRATE_RAID : EventMessage.PIRATE_ATTACK);
+            hazardEvent.setAmount(lost > 0 ? lost : absorbed);
+        }
+        pushTravelEvent();
+    }
+
+    protected int loseCargo(int percent) {
+        return 0;
+    }
+
+    private Hazard findHazard(MissionStatus leg) {
+        if (mission.getHazards() == null) {
+            return null;
+        }
+        return mission.getHazards().stream()
+                .filter(hazard -> hazard.getLeg() == leg)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // planned once when the mission starts, so later reads and transitions never draw again
+    protected static List<Hazard> planHazards(RandomGenerator random, int shieldLevel) {
+        List<Hazard> hazards = new ArrayList<>();
+        for (MissionStatus leg : List.of(MissionStatus.EN_ROUTE, MissionStatus.RETURNING)) {
+            double roll = random.nextDouble();
+            int progress = random.nextInt(100, 900);
+            double pirateChance = PIRATE_ATTACK_CHANCE / Math.max(1, shieldLevel);
+            if (roll < pirateChance) {
+                hazards.add(new Hazard(EventType.PIRATE_ATTACK, leg, progress, random.nextInt(10, 41), random.nextInt(10, 51)));
+            } else if (roll < pirateChance + METEOR_STORM_CHANCE) {
+                hazards.add(new Hazard(EventType.METEOR_STORM, leg, progress, random.nextInt(5, 21), 0));
+            }
+        }
+        return hazards;
+    }
+
+    private void pushTravelEvent() {
         EventType travelEventType = (mission.getCurrentStatus() == MissionStatus.EN_ROUTE)
                 ? EventType.ARRIVAL_AT_LOCATION
                 : EventType.RETURNED_TO_STATION;
@@ -123,8 +191,6 @@ public abstract class MissionManager {
 
     protected Event popLastEvent() {
         List<Event> events = mission.getEvents();
-        Event event = events.get(events.size() - 1);
-        events.remove(event);
-        return event;
+        return events.remove(events.size() - 1);
     }
 }
@@ -15,6 +15,7 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DiscriminatorValue("SCOUTING")
 public class ScoutingMission extends Mission {
 
     @Enumerated(EnumType.STRING)
@@ -24,4 +25,8 @@ public class ScoutingMission extends Mission {
     @OneToOne(cascade = CascadeType.PERSIST)
     private Location discoveredLocation;
 
+    @Override
+    public MissionType getType() {
+        return MissionType.SCOUTING;
+    }
 }
@@ -2,6 +2,7 @@ package com.codecool.spaceship.model.mission;
 
 import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
 import com.codecool.spaceship.model.dto.mission.ScoutingMissionDTO;
+import com.codecool.spaceship.model.dto.mission.ScoutingMissionPreviewDTO;
 import com.codecool.spaceship.model.exception.IllegalOperationException;
 import com.codecool.spaceship.model.location.Location;
 import com.codecool.spaceship.model.location.LocationDataGenerator;
@@ -12,20 +13,25 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class ScoutingMissionManager extends MissionManager {
 
-    private final LocationDataGenerator locationDataGenerator;
+    private LocationDataGenerator locationDataGenerator;
 
-    public ScoutingMissionManager(ScoutingMission mission, Clock clock, Random random, ScoutShipManager scoutShipManager, LocationDataGenerator locationDataGenerator) {
+    public ScoutingMissionManager(ScoutingMission mission, Clock clock, RandomGenerator random, ScoutShipManager scoutShipManager, LocationDataGenerator locationDataGenerator) {
         super(mission, clock, random, scoutShipManager);
         this.locationDataGenerator = locationDataGenerator;
     }
 
     public ScoutingMissionManager(ScoutingMission mission, ScoutShipManager scoutShipManager, LocationDataGenerator locationDataGenerator) {
-        super(mission, Clock.systemUTC(), new Random(), scoutShipManager);
-        this.locationDataGenerator = locationDataGenerator;
+        this(mission, Clock.systemUTC(), new SplittableRandom(mission.getSeed()), scoutShipManager, locationDataGenerator);
+    }
+
+    // the generator is only needed once the scan is evaluated, so it is created on demand
+    public ScoutingMissionManager(ScoutingMission mission, Clock clock, RandomGenerator random, ScoutShipManager scoutShipManager) {
+        this(mission, clock, random, scoutShipManager, null);
     }
 
     public static ScoutingMission startScoutingMission(ScoutShipManager scoutShipManager, int distance, long activityDurationInSecs,
@@ -69,6 +75,19 @@ public class ScoutingMissionManager extends MissionManager {
         return startScoutingMission(scoutShipManager, distance, activityDurationInSecs, targetResource, prioritizingDistance, Clock.systemUTC());
     }
 
+    public static ScoutingMissionPreviewDTO preview(ScoutShipManager scoutShipManager, int distance, long activityDurationInSecs) {
+        if (distance <= 0) {
+            throw new IllegalArgumentException("Distance can't be 0 or less");
+        }
+        if (activityDurationInSecs <= 0) {
+            throw new IllegalArgumentException("Activity duration can't be 0 or less");
+        }
+        long travelDurationInSecs = calculateTravelDurationInSecs(scoutShipManager, distance);
+        double scanningHours = activityDurationInSecs / 60.0 / 60.0;
+        double discoveryProbability = LocationDataGenerator.planetFoundProbability(scoutShipManager.getScannerEfficiency(), scanningHours, distance);
+        return new ScoutingMissionPreviewDTO(travelDurationInSecs, discoveryProbability);
+    }
+
     @Override
     public MissionDetailDTO getDetailedDTO() {
         return new ScoutingMissionDTO((ScoutingMission) mission);
@@ -90,10 +109,10 @@ public class ScoutingMissionManager extends MissionManager {
         if (abortedEvent.getEventType() == EventType.ACTIVITY_COMPLETE) {
             long timeScanning = Duration.between(peekLastEvent().getEndTime(), now).getSeconds();
             mission.setActivityDurationInSecs(timeScanning);
-            abortEvent.setEventMessage("Mission aborted by Command. Shutting down scan. Returning to station.");
+            abortEvent.setEventMessage(EventMessage.SCAN_ABORTED);
         } else {
             mission.setActivityDurationInSecs(0);
-            abortEvent.setEventMessage("Mission aborted by Command. Returning to station.");
+            abortEvent.setEventMessage(EventMessage.ABORTED);
         }
 
         pushNewEvent(abortEvent);
@@ -107,7 +126,8 @@ public class ScoutingMissionManager extends MissionManager {
         Event startEvent = Event.builder()
                 .endTime(mission.getStartTime())
                 .eventType(EventType.START)
-                .eventMessage("Left station to discover new planet with %s.".formatted(((ScoutingMission) mission).getTargetResource()))
+                .eventMessage(EventMessage.SCOUTING_STARTED)
+                .resourceType(((ScoutingMission) mission).getTargetResource())
                 .build();
         pushNewEvent(startEvent);
     }
@@ -118,7 +138,7 @@ public class ScoutingMissionManager extends MissionManager {
 
         LocalDateTime lastEventTime = peekLastEvent().getEndTime();
         mission.setCurrentObjectiveTime(lastEventTime.plusSeconds(mission.getActivityDurationInSecs()));
-        peekLastEvent().setEventMessage("Reached target distance. Starting scan.");
+        peekLastEvent().setEventMessage(EventMessage.SCAN_STARTED);
         Event activityEvent = Event.builder()
                 .eventType(EventType.ACTIVITY_COMPLETE)
                 .endTime(lastEventTime.plusSeconds(mission.getActivityDurationInSecs()))
@@ -128,21 +148,21 @@ public class ScoutingMissionManager extends MissionManager {
 
     @Override
     protected void finishActivity() {
-        peekLastEvent().setEventMessage("Finished scanning. Returning to station.");
+        peekLastEvent().setEventMessage(EventMessage.SCAN_FINISHED);
         startReturnTravel();
     }
 
     @Override
     protected void endMission() {
         if (mission.getActivityDurationInSecs() == 0 || shipManager.getShieldEnergy() == 0) {
-            peekLastEvent().setEventMessage("Returned to station.");
+            peekLastEvent().setEventMessage(EventMessage.RETURNED);
         } else {
             Location location = generateLocation();
             if (location == null) {
-                peekLastEvent().setEventMessage("Returned to station.\nNo new planet discovered.");
+                peekLastEvent().setEventMessage(EventMessage.NO_PLANET_DISCOVERED);
             } else  {
                 ((ScoutingMission)mission).setDiscoveredLocation(location);
-                peekLastEvent().setEventMessage("Returned to station.\nScan data decoded, discovered new planet: %s".formatted(location.getName()));
+                peekLastEvent().setEventMessage(EventMessage.PLANET_DISCOVERED, location.getName());
             }
         }
         mission.setCurrentStatus(MissionStatus.OVER);
@@ -150,6 +170,9 @@ public class ScoutingMissionManager extends MissionManager {
     }
 
     private Location generateLocation() {
+        if (locationDataGenerator == null) {
+            locationDataGenerator = new LocationDataGenerator(random);
+        }
         int scannerEfficiency = ((ScoutShipManager) shipManager).getScannerEfficiency();
         double scanningHours = mission.getActivityDurationInSecs() / 60.0 / 60.0;
         int distance = ((ScoutingMission) mission).getDistance();
@@ -0,0 +1,5 @@
+package com.codecool.spaceship.model.resource;
+
+public enum LedgerReason {
+    TRANSFER, UPGRADE, SHIP_PURCHASE, ADMIN_GRANT
+}
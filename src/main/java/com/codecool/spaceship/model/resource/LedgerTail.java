@@ -0,0 +1,13 @@
+package com.codecool.spaceship.model.resource;
+
+public record LedgerTail(long plutonium, long crystal, long silicone, long metal, Long lastSeq) {
+
+    public ResourceVector toVector() {
+        int[] amounts = new int[ResourceType.values().length];
+        amounts[ResourceType.PLUTONIUM.ordinal()] = Math.toIntExact(plutonium);
+        amounts[ResourceType.CRYSTAL.ordinal()] = Math.toIntExact(crystal);
+        amounts[ResourceType.SILICONE.ordinal()] = Math.toIntExact(silicone);
+        amounts[ResourceType.METAL.ordinal()] = Math.toIntExact(metal);
+        return ResourceVector.wrap(amounts);
+    }
+}
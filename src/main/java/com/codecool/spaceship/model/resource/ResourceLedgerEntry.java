@@ -0,0 +1,47 @@
+package com.codecool.spaceship.model.resource;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = "resource_ledger", indexes = @Index(name = "resource_ledger_station_idx", columnList = "station_id, seq", unique = true))
+public class ResourceLedgerEntry {
+    // unpooled, so the conditional append can take its id from the sequence inside the INSERT ... SELECT
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_ledger_seq")
+    @SequenceGenerator(name = "resource_ledger_seq", allocationSize = 1)
+    private Long id;
+    @Column(name = "station_id", nullable = false)
+    private Long stationId;
+    // position in the station's ledger, one past the last committed entry, so seqs are gap-free and in commit order
+    private long seq;
+    // plain columns rather than an embedded ResourceStorage, which an INSERT ... SELECT can't target
+    private int plutonium;
+    private int crystal;
+    private int silicone;
+    private int metal;
+    @Column(name = "resource_total")
+    private int total;
+    @Enumerated(EnumType.STRING)
+    private LedgerReason reason;
+    private LocalDateTime createdAt;
+
+    public ResourceLedgerEntry(long stationId, long seq, ResourceVector delta, LedgerReason reason, LocalDateTime createdAt) {
+        this.stationId = stationId;
+        this.seq = seq;
+        this.plutonium = delta.get(ResourceType.PLUTONIUM);
+        this.crystal = delta.get(ResourceType.CRYSTAL);
+        this.silicone = delta.get(ResourceType.SILICONE);
+        this.metal = delta.get(ResourceType.METAL);
+        this.total = delta.total();
+        this.reason = reason;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.codecool.spaceship.model.resource;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+public class ResourceStorage {
+
+    // scout ships share the spaceship table and never write these columns
+    @ColumnDefault("0")
+    private int plutonium;
+    @ColumnDefault("0")
+    private int crystal;
+    @ColumnDefault("0")
+    private int silicone;
+    @ColumnDefault("0")
+    private int metal;
+    // kept in step with the columns above so capacity checks never sum them
+    @ColumnDefault("0")
+    @Column(name = "resource_total")
+    private int total;
+
+    public ResourceStorage(ResourceVector resources) {
+        set(resources);
+    }
+
+    public int get(ResourceType type) {
+        return switch (type) {
+            case PLUTONIUM -> plutonium;
+            case CRYSTAL -> crystal;
+            case SILICONE -> silicone;
+            case METAL -> metal;
+        };
+    }
+
+    public ResourceVector toVector() {
+        int[] amounts = new int[ResourceType.values().length];
+        for (ResourceType type : ResourceType.values()) {
+            amounts[type.ordinal()] = get(type);
+        }
+        return ResourceVector.wrap(amounts);
+    }
+
+    public void add(ResourceVector resources) {
+        plutonium += resources.get(ResourceType.PLUTONIUM);
+        crystal += resources.get(ResourceType.CRYSTAL);
+        silicone += resources.get(ResourceType.SILICONE);
+        metal += resources.get(ResourceType.METAL);
+        total += resources.total();
+    }
+
+    public void remove(ResourceVector resources) {
+        plutonium -= resources.get(ResourceType.PLUTONIUM);
+        crystal -= resources.get(ResourceType.CRYSTAL);
+        silicone -= resources.get(ResourceType.SILICONE);
+        metal -= resources.get(ResourceType.METAL);
+        total -= resources.total();
+    }
+
+    public void set(ResourceVector resources) {
+        plutonium = resources.get(ResourceType.PLUTONIUM);
+        crystal = resources.get(ResourceType.CRYSTAL);
+        silicone = resources.get(ResourceType.SILICONE);
+        metal = resources.get(ResourceType.METAL);
+        total = resources.total();
+    }
+}
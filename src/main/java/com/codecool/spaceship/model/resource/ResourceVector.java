@@ -0,0 +1,144 @@
+package com.codecool.spaceship.model.resource;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public final class ResourceVector {
+
+    private static final ResourceType[] TYPES = ResourceType.values();
+
+    public static final ResourceVector ZERO = new ResourceVector(new int[TYPES.length]);
+
+    private final int[] amounts;
+
+    private ResourceVector(int[] amounts) {
+        this.amounts = amounts;
+    }
+
+    static ResourceVector wrap(int[] amounts) {
+        return new ResourceVector(amounts);
+    }
+
+    public static ResourceVector of(ResourceType type, int amount) {
+        return ZERO.plus(type, amount);
+    }
+
+    @JsonCreator
+    public static ResourceVector of(Map<ResourceType, Integer> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return ZERO;
+        }
+        int[] amounts = new int[TYPES.length];
+        resources.forEach((type, amount) -> {
+            if (type != null && amount != null) {
+                amounts[type.ordinal()] += amount;
+            }
+        });
+        return new ResourceVector(amounts);
+    }
+
+    public int get(ResourceType type) {
+        return amounts[type.ordinal()];
+    }
+
+    public int total() {
+        int total = 0;
+        for (int amount : amounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    public boolean isZero() {
+        for (int amount : amounts) {
+            if (amount != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasNegative() {
+        for (int amount : amounts) {
+            if (amount < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean covers(ResourceVector other) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < other.amounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ResourceVector plus(ResourceVector other) {
+        if (other.isZero()) {
+            return this;
+        }
+        int[] result = amounts.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] += other.amounts[i];
+        }
+        return new ResourceVector(result);
+    }
+
+    public ResourceVector minus(ResourceVector other) {
+        if (other.isZero()) {
+            return this;
+        }
+        int[] result = amounts.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] -= other.amounts[i];
+        }
+        return new ResourceVector(result);
+    }
+
+    public ResourceVector plus(ResourceType type, int amount) {
+        if (amount == 0) {
+            return this;
+        }
+        int[] result = amounts.clone();
+        result[type.ordinal()] += amount;
+        return new ResourceVector(result);
+    }
+
+    public ResourceVector minus(ResourceType type, int amount) {
+        return plus(type, -amount);
+    }
+
+    @JsonValue
+    public Map<ResourceType, Integer> toMap() {
+        Map<ResourceType, Integer> map = new EnumMap<>(ResourceType.class);
+        for (ResourceType type : TYPES) {
+            if (amounts[type.ordinal()] != 0) {
+                map.put(type, amounts[type.ordinal()]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ResourceVector other && Arrays.equals(amounts, other.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(amounts);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
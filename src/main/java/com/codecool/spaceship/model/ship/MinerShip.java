@@ -1,27 +1,26 @@
 package com.codecool.spaceship.model.ship;
 
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.Map;
-
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DiscriminatorValue("MINER")
 public class MinerShip extends SpaceShip {
     private int drillLevel;
     private int storageLevel;
-    @ElementCollection
-    @CollectionTable(
-            name = "minership_storage_mapping",
-            joinColumns = @JoinColumn(name = "ship_id", referencedColumnName = "id")
-    )
-    @MapKeyJoinColumn(name = "resource")
-    @Column(name = "amount")
-    private Map<ResourceType, Integer> storedResources;
+    @Embedded
+    @Builder.Default
+    private ResourceStorage storedResources = new ResourceStorage();
+
+    @Override
+    public ShipType getType() {
+        return ShipType.MINER;
+    }
 
 }
@@ -9,7 +9,9 @@ import com.codecool.spaceship.model.dto.ship.part.ShipStorageDTO;
 import com.codecool.spaceship.model.exception.NoSuchPartException;
 import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.shipparts.*;
 import com.codecool.spaceship.service.LevelService;
 
@@ -36,7 +38,7 @@ public class MinerShipManager extends SpaceShipManager {
         ship.setShieldEnergy(new ShieldManager(levelService).getMaxEnergy());
         ship.setDrillLevel(1);
         ship.setStorageLevel(1);
-        ship.setStoredResources(new HashMap<>());
+        ship.setStoredResources(new ResourceStorage());
         return ship;
     }
 
@@ -73,15 +75,14 @@ public class MinerShipManager extends SpaceShipManager {
         return storage.getCurrentAvailableStorageSpace();
     }
 
-    public Map<ResourceType, Integer> getStorageContents() {
+    public ResourceVector getStorageContents() {
         createStorageIfNotExists();
         return storage.getStoredResources();
     }
 
-    public boolean hasResourcesInStorage(Map<ResourceType, Integer> resources) {
+    public boolean hasResourcesInStorage(ResourceVector resources) {
         createStorageIfNotExists();
-        return resources.entrySet().stream()
-                .allMatch(entry ->  storage.hasResource(entry.getKey(), entry.getValue()));
+        return storage.hasResources(resources);
     }
 
     public boolean addResourceToStorage(ResourceType resourceType, int amount) throws StorageException {
@@ -93,13 +94,18 @@ public class MinerShipManager extends SpaceShipManager {
         createStorageIfNotExists();
         return storage.removeResource(resourceType, amount);
     }
+
+    public boolean removeResourcesFromStorage(ResourceVector resources) throws StorageException {
+        createStorageIfNotExists();
+        return storage.removeResources(resources);
+    }
     @Override
     public Set<ShipPart> getPartTypes() {
         return PARTS;
     }
 
     @Override
-    public Map<ResourceType, Integer> getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException {
+    public ResourceVector getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException {
         switch (part) {
             case ENGINE -> {
                 createEngineIfNotExists();
@@ -152,8 +158,8 @@ public class MinerShipManager extends SpaceShipManager {
     }
 
     @Override
-    public Map<ResourceType, Integer> getCost() {
-        return new HashMap<>(ShipType.MINER.getCost());
+    public ResourceVector getCost() {
+        return ShipType.MINER.getCost();
     }
 
     private void createStorageIfNotExists() {
@@ -1,5 +1,6 @@
 package com.codecool.spaceship.model.ship;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import lombok.*;
 
@@ -9,7 +10,13 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DiscriminatorValue("SCOUT")
 public class ScoutShip extends SpaceShip {
 
     private int scannerLevel;
+
+    @Override
+    public ShipType getType() {
+        return ShipType.SCOUT;
+    }
 }
@@ -7,14 +7,13 @@ import com.codecool.spaceship.model.dto.ship.part.ScannerDTO;
 import com.codecool.spaceship.model.dto.ship.part.ShieldDTO;
 import com.codecool.spaceship.model.exception.NoSuchPartException;
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.shipparts.Color;
 import com.codecool.spaceship.model.ship.shipparts.ScannerManager;
 import com.codecool.spaceship.model.ship.shipparts.ShieldManager;
 import com.codecool.spaceship.model.ship.shipparts.ShipPart;
 import com.codecool.spaceship.service.LevelService;
 
-import java.util.Map;
 import java.util.Set;
 
 public class ScoutShipManager extends SpaceShipManager{
@@ -93,12 +92,12 @@ public class ScoutShipManager extends SpaceShipManager{
     }
 
     @Override
-    public Map<ResourceType, Integer> getCost() {
+    public ResourceVector getCost() {
         return ShipType.SCOUT.getCost();
     }
 
     @Override
-    public Map<ResourceType, Integer> getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException {
+    public ResourceVector getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException {
         switch (part) {
             case ENGINE -> {
                 createEngineIfNotExists();
@@ -1,6 +1,7 @@
 package com.codecool.spaceship.model.ship;
 
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 
 import java.util.Map;
 
@@ -18,13 +19,13 @@ public enum ShipType {
             ResourceType.SILICONE, 10
     ));
 
-    private final Map<ResourceType, Integer> cost;
+    private final ResourceVector cost;
 
     ShipType(Map<ResourceType, Integer> cost) {
-        this.cost = cost;
+        this.cost = ResourceVector.of(cost);
     }
 
-    public Map<ResourceType, Integer> getCost() {
+    public ResourceVector getCost() {
         return cost;
     }
 }
@@ -13,13 +13,16 @@ import lombok.*;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
 @AllArgsConstructor
-@Inheritance(strategy = InheritanceType.JOINED)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "ship_type")
 @Table(name = "spaceship")
 @Transactional
 public abstract class SpaceShip {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private Color color;
     private int engineLevel;
@@ -32,4 +35,6 @@ public abstract class SpaceShip {
     @OneToOne
     @JoinColumn(name = "current_mission_id")
     private Mission currentMission;
+
+    public abstract ShipType getType();
 }
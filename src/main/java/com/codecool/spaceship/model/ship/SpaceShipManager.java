@@ -4,13 +4,12 @@ import com.codecool.spaceship.model.dto.ship.ShipDetailDTO;
 import com.codecool.spaceship.model.exception.NoSuchPartException;
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
 import com.codecool.spaceship.model.mission.Mission;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.shipparts.EngineManager;
 import com.codecool.spaceship.model.ship.shipparts.ShieldManager;
 import com.codecool.spaceship.model.ship.shipparts.ShipPart;
 import com.codecool.spaceship.service.LevelService;
 
-import java.util.Map;
 import java.util.Set;
 
 
@@ -44,6 +43,9 @@ public abstract class SpaceShipManager {
 
     public void endMission() {
         spaceShip.setCurrentMission(null);
+        createShieldIfNotExists();
+        shield.setEnergyToMax();
+        spaceShip.setShieldEnergy(shield.getCurrentEnergy());
     }
 
     public int getShieldEnergy() {
@@ -58,11 +60,13 @@ public abstract class SpaceShipManager {
     public void repairShield(int amount) {
         createShieldIfNotExists();
         shield.repair(amount);
+        spaceShip.setShieldEnergy(shield.getCurrentEnergy());
     }
 
     public void damageShield(int amount) {
         createShieldIfNotExists();
         shield.damage(amount);
+        spaceShip.setShieldEnergy(shield.getCurrentEnergy());
     }
 
     public int getSpeed() {
@@ -88,7 +92,7 @@ public abstract class SpaceShipManager {
 
     public abstract boolean upgradePart(ShipPart part) throws NoSuchPartException;
 
-    public abstract Map<ResourceType, Integer> getCost();
+    public abstract ResourceVector getCost();
 
-    public abstract Map<ResourceType, Integer> getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException;
+    public abstract ResourceVector getUpgradeCost(ShipPart part) throws UpgradeNotAvailableException, NoSuchPartException;
 }
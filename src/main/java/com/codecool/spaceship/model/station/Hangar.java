@@ -12,7 +12,7 @@ import lombok.*;
 
 public class Hangar {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
 }
@@ -6,6 +6,11 @@ import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.model.ship.SpaceShip;
 import com.codecool.spaceship.service.LevelService;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -57,4 +62,23 @@ public class HangarManager extends Upgradeable {
             return true;
         }
     }
+
+    // digest of the sorted (id, version) pairs, so a ship leaving changes it as surely as a ship changing
+    public static long fingerprint(Collection<SpaceShip> ships) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer pair = ByteBuffer.allocate(2 * Long.BYTES);
+        ships.stream()
+                .sorted(Comparator.comparing(SpaceShip::getId))
+                .forEach(ship -> {
+                    pair.clear();
+                    pair.putLong(ship.getId()).putLong(ship.getVersion());
+                    digest.update(pair.array());
+                });
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
 }
@@ -1,7 +1,7 @@
 package com.codecool.spaceship.model.station;
 
 import com.codecool.spaceship.model.UserEntity;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.ship.SpaceShip;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -9,7 +9,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
 import java.util.Set;
 
 @Entity
@@ -19,23 +18,21 @@ import java.util.Set;
 @Table(name = "spacestation")
 public class SpaceStation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private int storageLevel;
     private int hangarLevel;
-    @OneToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinColumn(name ="station_id")
+    // owned by SpaceShip.station, so a new ship's station_id goes out with its insert instead of a follow-up update
+    @OneToMany(mappedBy = "station", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private Set<SpaceShip> hangar;
-    @ElementCollection
-    @CollectionTable(
-            name = "station_storage_mapping",
-            joinColumns = @JoinColumn(name = "station_id", referencedColumnName = "id")
-    )
-    @MapKeyJoinColumn(name = "resource")
-    @Column(name = "amount")
-    private Map<ResourceType, Integer> storedResources;
-    @OneToOne(cascade = CascadeType.MERGE)
+    // snapshot of the ledger up to and including the entry with seq ledgerWatermark
+    @Embedded
+    private ResourceStorage storedResources = new ResourceStorage();
+    private long ledgerWatermark;
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
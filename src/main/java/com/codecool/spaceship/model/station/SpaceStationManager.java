@@ -5,15 +5,15 @@ import com.codecool.spaceship.model.dto.SpaceStationDTO;
 import com.codecool.spaceship.model.dto.SpaceStationStorageDTO;
 import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.MinerShipManager;
 import com.codecool.spaceship.model.ship.ShipType;
 import com.codecool.spaceship.model.ship.SpaceShip;
 import com.codecool.spaceship.service.LevelService;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 public class SpaceStationManager {
@@ -21,11 +21,17 @@ public class SpaceStationManager {
     private final SpaceStation station;
     private final LevelService levelService;
     private HangarManager hangar;
+    private final ResourceStorage storedResources;
     private StationStorageManager storage;
 
     public SpaceStationManager(SpaceStation station, LevelService levelService) {
+        this(station, levelService, station.getStoredResources());
+    }
+
+    public SpaceStationManager(SpaceStation station, LevelService levelService, ResourceStorage storedResources) {
         this.station = station;
         this.levelService = levelService;
+        this.storedResources = storedResources;
     }
 
     public static SpaceStation createNewSpaceStation(String name) {
@@ -34,30 +40,26 @@ public class SpaceStationManager {
         station.setHangarLevel(1);
         station.setHangar(new HashSet<>());
         station.setStorageLevel(1);
-        station.setStoredResources(new HashMap<>());
+        station.setStoredResources(new ResourceStorage());
         return station;
     }
 
-    private boolean hasEnoughResource(Map<ResourceType, Integer> cost) {
+    private boolean hasEnoughResource(ResourceVector cost) {
         createStorageIfNotExists();
-        return cost.entrySet().stream()
-                .allMatch(entry -> storage.hasResource(entry.getKey(), entry.getValue()));
+        return storage.hasResources(cost);
     }
 
-    public boolean removeResources(Map<ResourceType, Integer> cost) throws StorageException {
+    public boolean removeResources(ResourceVector cost) throws StorageException {
         createStorageIfNotExists();
         if (hasEnoughResource(cost)) {
-            for (ResourceType resource : cost.keySet()) {
-                storage.removeResource(resource, cost.get(resource));
-            }
-            return true;
+            return storage.removeResources(cost);
         }
         throw new StorageException("Not enough resource");
     }
 
 
     public boolean addNewShip(SpaceShip ship, ShipType shipType) throws StorageException {
-        Map<ResourceType, Integer> cost = shipType.getCost();
+        ResourceVector cost = shipType.getCost();
         createHangarIfNotExists();
         if (!hasEnoughResource(cost)) {
             throw new StorageException("Not enough resource");
@@ -87,36 +89,34 @@ public class SpaceStationManager {
         createStorageIfNotExists();
         return storage.addResource(resourceType, quantity);
     }
-    public boolean addResourcesFromShip(MinerShipManager shipManager, Map<ResourceType, Integer> resources) throws StorageException {
+
+    public boolean addResources(ResourceVector resources) throws StorageException {
+        createStorageIfNotExists();
+        return storage.addResources(resources);
+    }
+    public boolean addResourcesFromShip(MinerShipManager shipManager, ResourceVector resources) throws StorageException {
         if (hasShipAvailable(shipManager.getShip()) && shipManager.hasResourcesInStorage(resources)) {
-            int sum = resources.values().stream()
-                    .mapToInt(i -> i)
-                    .sum();
             createStorageIfNotExists();
-            if (sum <= storage.getCurrentAvailableStorageSpace()) {
-                for (ResourceType resource : resources.keySet()) {
-                    addResource(resource, resources.get(resource));
-                    shipManager.removeResourceFromStorage(resource, resources.get(resource));
-                }
-                return true;
+            if (resources.total() <= storage.getCurrentAvailableStorageSpace()) {
+                return shipManager.removeResourcesFromStorage(resources) && storage.addResources(resources);
             }
         }
         return false;
     }
 
-    public Map<ResourceType, Integer> getStorageUpgradeCost() throws UpgradeNotAvailableException {
+    public ResourceVector getStorageUpgradeCost() throws UpgradeNotAvailableException {
         createStorageIfNotExists();
         return storage.getUpgradeCost();
     }
 
-    public Map<ResourceType, Integer> getHangarUpgradeCost() throws UpgradeNotAvailableException {
+    public ResourceVector getHangarUpgradeCost() throws UpgradeNotAvailableException {
         createHangarIfNotExists();
         return hangar.getUpgradeCost();
     }
 
     public boolean upgradeStorage() throws UpgradeNotAvailableException, StorageException {
         createStorageIfNotExists();
-        Map<ResourceType, Integer> cost = storage.getUpgradeCost();
+        ResourceVector cost = storage.getUpgradeCost();
         removeResources(cost);
         storage.upgrade();
         station.setStorageLevel(storage.getCurrentLevel());
@@ -125,7 +125,7 @@ public class SpaceStationManager {
 
     public boolean upgradeHangar() throws UpgradeNotAvailableException, StorageException {
         createHangarIfNotExists();
-        Map<ResourceType, Integer> cost = hangar.getUpgradeCost();
+        ResourceVector cost = hangar.getUpgradeCost();
         removeResources(cost);
         hangar.upgrade();
         station.setHangarLevel(hangar.getCurrentLevel());
@@ -146,7 +146,7 @@ public class SpaceStationManager {
         return new HangarDTO(hangar);
     }
 
-    public Map<ResourceType, Integer> getStoredResources() {
+    public ResourceVector getStoredResources() {
         createStorageIfNotExists();
         return storage.getStoredResources();
     }
@@ -159,7 +159,7 @@ public class SpaceStationManager {
 
     private void createStorageIfNotExists() {
         if (storage == null) {
-            storage = new StationStorageManager(levelService, station.getStorageLevel(), station.getStoredResources());
+            storage = new StationStorageManager(levelService, station.getStorageLevel(), storedResources);
         }
     }
 
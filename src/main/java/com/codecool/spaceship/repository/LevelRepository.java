@@ -3,6 +3,7 @@ package com.codecool.spaceship.repository;
 import com.codecool.spaceship.model.Level;
 import com.codecool.spaceship.model.UpgradeableType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,7 +12,8 @@ public interface LevelRepository extends JpaRepository<Level, Long> {
 
     Optional<Level> getLevelByTypeAndLevel(UpgradeableType type, int level);
 
-    List<Level> getLevelsByType(UpgradeableType type);
+    @Query("SELECT DISTINCT l FROM Level l LEFT JOIN FETCH l.cost")
+    List<Level> getAllLevelsWithCost();
 
     Optional<Level> getLevelByTypeAndMax(UpgradeableType type, boolean isMax);
 }
@@ -1,6 +1,5 @@
 package com.codecool.spaceship.repository;
 
-import com.codecool.spaceship.model.UserEntity;
 import com.codecool.spaceship.model.location.Location;
 import com.codecool.spaceship.model.resource.ResourceType;
 import org.springframework.data.domain.Sort;
@@ -11,7 +10,7 @@ import java.util.List;
 
 public interface LocationRepository extends JpaRepository<Location, Long> {
 
-    List<Location> findAllByUserAndResourceTypeInAndResourceReserveGreaterThan(UserEntity user,
-                                                                               Collection<ResourceType> resources,
-                                                                               int reserveGreaterThan, Sort sort);
+    List<Location> findAllByUserIdAndResourceTypeInAndResourceReserveGreaterThan(Long userId,
+                                                                                 Collection<ResourceType> resources,
+                                                                                 int reserveGreaterThan, Sort sort);
 }
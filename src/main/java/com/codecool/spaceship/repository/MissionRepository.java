@@ -1,13 +1,52 @@
 package com.codecool.spaceship.repository;
 
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
+import com.codecool.spaceship.model.mission.DueMission;
 import com.codecool.spaceship.model.mission.Mission;
 import com.codecool.spaceship.model.mission.MissionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MissionRepository extends JpaRepository<Mission, Long> {
 
-    List<Mission> getMissionsByUserIdAndCurrentStatusNot(Long userId, MissionStatus missionStatus);
-    List<Mission> getMissionsByUserIdAndCurrentStatus(Long userId, MissionStatus missionStatus);
+    String MISSION_DTO_QUERY = """
+            SELECT new com.codecool.spaceship.model.dto.mission.MissionDTO(m.id, TYPE(m), m.currentStatus,
+                m.currentObjectiveTime, m.approxEndTime, l.name, TREAT(m AS ScoutingMission).targetResource)
+            FROM Mission m LEFT JOIN TREAT(m AS MiningMission).location l
+            WHERE m.user.id = :userId""";
+
+    @Query(MISSION_DTO_QUERY + " AND m.currentStatus <> :status")
+    List<MissionDTO> getMissionDTOsByUserIdAndCurrentStatusNot(@Param("userId") Long userId, @Param("status") MissionStatus missionStatus);
+
+    @Query(MISSION_DTO_QUERY + " AND m.currentStatus = :status")
+    List<MissionDTO> getMissionDTOsByUserIdAndCurrentStatus(@Param("userId") Long userId, @Param("status") MissionStatus missionStatus);
+
+    List<Mission> getMissionsByCurrentStatusInAndCurrentObjectiveTimeAfter(Collection<MissionStatus> missionStatuses, LocalDateTime time);
+
+    Optional<Mission> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT m.user.id FROM Mission m WHERE m.id = :id")
+    Optional<Long> getUserIdById(@Param("id") long id);
+
+    String DUE_MISSION_QUERY = """
+            SELECT new com.codecool.spaceship.model.mission.DueMission(m.id, m.currentObjectiveTime)
+            FROM Mission m
+            WHERE m.currentStatus IN :statuses AND m.currentObjectiveTime <= :time""";
+    String DUE_MISSION_ORDER = " ORDER BY m.currentObjectiveTime, m.id";
+
+    @Query(DUE_MISSION_QUERY + DUE_MISSION_ORDER)
+    List<DueMission> getDueMissions(@Param("statuses") Collection<MissionStatus> statuses, @Param("time") LocalDateTime time,
+                                    Pageable pageable);
+
+    @Query(DUE_MISSION_QUERY + " AND (m.currentObjectiveTime > :afterTime OR (m.currentObjectiveTime = :afterTime AND m.id > :afterId))"
+            + DUE_MISSION_ORDER)
+    List<DueMission> getDueMissionsAfter(@Param("statuses") Collection<MissionStatus> statuses, @Param("time") LocalDateTime time,
+                                         @Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
 }
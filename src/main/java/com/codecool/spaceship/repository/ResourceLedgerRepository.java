@@ -0,0 +1,79 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.resource.LedgerReason;
+import com.codecool.spaceship.model.resource.LedgerTail;
+import com.codecool.spaceship.model.resource.ResourceLedgerEntry;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResourceLedgerRepository extends JpaRepository<ResourceLedgerEntry, Long> {
+
+    // appends at the next seq after the tail the guard was checked against; the unique (station_id, seq) index rejects a concurrent append
+    String APPEND = """
+            INSERT INTO ResourceLedgerEntry (stationId, seq, plutonium, crystal, silicone, metal, total, reason, createdAt)
+            SELECT s.id, coalesce((SELECT max(e.seq) FROM ResourceLedgerEntry e WHERE e.stationId = s.id), s.ledgerWatermark) + 1,
+                :plutonium, :crystal, :silicone, :metal, :total, :reason, :createdAt
+            FROM SpaceStation s
+            WHERE s.id = :stationId
+            """;
+    String COVERS = """
+                AND s.storedResources.plutonium + (SELECT coalesce(sum(e.plutonium), 0) FROM ResourceLedgerEntry e WHERE e.stationId = s.id AND e.seq > s.ledgerWatermark)
+                    + :plutonium >= 0
+                AND s.storedResources.crystal + (SELECT coalesce(sum(e.crystal), 0) FROM ResourceLedgerEntry e WHERE e.stationId = s.id AND e.seq > s.ledgerWatermark)
+                    + :crystal >= 0
+                AND s.storedResources.silicone + (SELECT coalesce(sum(e.silicone), 0) FROM ResourceLedgerEntry e WHERE e.stationId = s.id AND e.seq > s.ledgerWatermark)
+                    + :silicone >= 0
+                AND s.storedResources.metal + (SELECT coalesce(sum(e.metal), 0) FROM ResourceLedgerEntry e WHERE e.stationId = s.id AND e.seq > s.ledgerWatermark)
+                    + :metal >= 0""";
+    String FITS = """
+                AND s.storedResources.total + (SELECT coalesce(sum(e.total), 0) FROM ResourceLedgerEntry e WHERE e.stationId = s.id AND e.seq > s.ledgerWatermark)
+                    + :total <= (SELECT l.effect FROM Level l
+                        WHERE l.type = com.codecool.spaceship.model.UpgradeableType.STATION_STORAGE AND l.level = s.storageLevel)""";
+
+    @Modifying(flushAutomatically = true)
+    @Query(APPEND + COVERS)
+    int appendWithdrawal(@Param("stationId") long stationId, @Param("plutonium") int plutonium, @Param("crystal") int crystal,
+                         @Param("silicone") int silicone, @Param("metal") int metal, @Param("total") int total,
+                         @Param("reason") LedgerReason reason, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(APPEND + FITS)
+    int appendDeposit(@Param("stationId") long stationId, @Param("plutonium") int plutonium, @Param("crystal") int crystal,
+                      @Param("silicone") int silicone, @Param("metal") int metal, @Param("total") int total,
+                      @Param("reason") LedgerReason reason, @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("""
+            SELECT new com.codecool.spaceship.model.resource.LedgerTail(coalesce(sum(e.plutonium), 0L),
+                coalesce(sum(e.crystal), 0L), coalesce(sum(e.silicone), 0L), coalesce(sum(e.metal), 0L), max(e.seq))
+            FROM ResourceLedgerEntry e
+            WHERE e.stationId = :stationId AND e.seq > :after AND e.seq <= :upTo""")
+    LedgerTail getTail(@Param("stationId") long stationId, @Param("after") long after, @Param("upTo") long upTo);
+
+    @Query("SELECT max(e.seq) FROM ResourceLedgerEntry e WHERE e.stationId = :stationId")
+    Optional<Long> getLastSeq(@Param("stationId") long stationId);
+
+    @Query("""
+            SELECT DISTINCT e.stationId FROM ResourceLedgerEntry e, SpaceStation s
+            WHERE s.id = e.stationId AND e.seq > s.ledgerWatermark AND e.stationId > :afterId
+            ORDER BY e.stationId""")
+    List<Long> getStationIdsToCompact(@Param("afterId") long afterId, Pageable pageable);
+
+    default int appendWithdrawal(long stationId, ResourceVector cost, LedgerReason reason, LocalDateTime createdAt) {
+        return appendWithdrawal(stationId, -cost.get(ResourceType.PLUTONIUM), -cost.get(ResourceType.CRYSTAL),
+                -cost.get(ResourceType.SILICONE), -cost.get(ResourceType.METAL), -cost.total(), reason, createdAt);
+    }
+
+    default int appendDeposit(long stationId, ResourceVector resources, LedgerReason reason, LocalDateTime createdAt) {
+        return appendDeposit(stationId, resources.get(ResourceType.PLUTONIUM), resources.get(ResourceType.CRYSTAL),
+                resources.get(ResourceType.SILICONE), resources.get(ResourceType.METAL), resources.total(), reason, createdAt);
+    }
+}
@@ -1,11 +1,44 @@
 package com.codecool.spaceship.repository;
 
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.SpaceShip;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SpaceShipRepository extends JpaRepository<SpaceShip, Long> {
 
     List<SpaceShip> getSpaceShipsByStationId(long stationId);
+
+    Optional<SpaceShip> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT s.user.id FROM SpaceShip s WHERE s.id = :id")
+    Optional<Long> getUserIdById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE MinerShip m SET
+                m.storedResources.plutonium = m.storedResources.plutonium - :plutonium,
+                m.storedResources.crystal = m.storedResources.crystal - :crystal,
+                m.storedResources.silicone = m.storedResources.silicone - :silicone,
+                m.storedResources.metal = m.storedResources.metal - :metal,
+                m.storedResources.total = m.storedResources.total - :total,
+                m.version = m.version + 1
+            WHERE m.id = :id AND m.station.id = :stationId AND m.currentMission IS NULL
+                AND (:userId IS NULL OR m.user.id = :userId)
+                AND m.storedResources.plutonium >= :plutonium AND m.storedResources.crystal >= :crystal
+                AND m.storedResources.silicone >= :silicone AND m.storedResources.metal >= :metal""")
+    int unloadCargo(@Param("id") long id, @Param("stationId") long stationId, @Param("userId") Long userId,
+                    @Param("plutonium") int plutonium, @Param("crystal") int crystal, @Param("silicone") int silicone,
+                    @Param("metal") int metal, @Param("total") int total);
+
+    default int unloadCargo(long id, long stationId, Long userId, ResourceVector resources) {
+        return unloadCargo(id, stationId, userId, resources.get(ResourceType.PLUTONIUM), resources.get(ResourceType.CRYSTAL),
+                resources.get(ResourceType.SILICONE), resources.get(ResourceType.METAL), resources.total());
+    }
 }
@@ -1,12 +1,58 @@
 package com.codecool.spaceship.repository;
 
-import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.station.SpaceStation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface SpaceStationRepository extends JpaRepository<SpaceStation, Long> {
 
-    Optional<SpaceStation> getSpaceStationByUser(UserEntity user);
+    Optional<SpaceStation> getSpaceStationByUserId(Long userId);
+
+    Optional<SpaceStation> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT s.user.id FROM SpaceStation s WHERE s.id = :id")
+    Optional<Long> getUserIdById(@Param("id") long id);
+
+    @EntityGraph(attributePaths = {"hangar", "hangar.currentMission"})
+    Optional<SpaceStation> findWithHangarAndStorageByUserId(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SpaceStation s WHERE s.id = :id")
+    Optional<SpaceStation> lockById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SpaceStation s SET s.storageLevel = s.storageLevel + 1, s.version = s.version + 1 WHERE s.id = :id AND s.storageLevel = :level")
+    int upgradeStorage(@Param("id") long id, @Param("level") int currentLevel);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SpaceStation s SET s.hangarLevel = s.hangarLevel + 1, s.version = s.version + 1 WHERE s.id = :id AND s.hangarLevel = :level")
+    int upgradeHangar(@Param("id") long id, @Param("level") int currentLevel);
+
+    // no version bump: the balance is unchanged, and a writer saving an older snapshot also writes back the older watermark
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE SpaceStation s SET
+                s.storedResources.plutonium = s.storedResources.plutonium + :plutonium,
+                s.storedResources.crystal = s.storedResources.crystal + :crystal,
+                s.storedResources.silicone = s.storedResources.silicone + :silicone,
+                s.storedResources.metal = s.storedResources.metal + :metal,
+                s.storedResources.total = s.storedResources.total + :total,
+                s.ledgerWatermark = :upTo
+            WHERE s.id = :id AND s.ledgerWatermark = :from""")
+    int compactLedger(@Param("id") long id, @Param("from") long from, @Param("upTo") long upTo, @Param("plutonium") int plutonium,
+                      @Param("crystal") int crystal, @Param("silicone") int silicone, @Param("metal") int metal, @Param("total") int total);
+
+    default int compactLedger(long id, long from, long upTo, ResourceVector delta) {
+        return compactLedger(id, from, upTo, delta.get(ResourceType.PLUTONIUM), delta.get(ResourceType.CRYSTAL),
+                delta.get(ResourceType.SILICONE), delta.get(ResourceType.METAL), delta.total());
+    }
 }
@@ -6,7 +6,9 @@ import com.codecool.spaceship.model.UpgradeableType;
 import com.codecool.spaceship.model.UserEntity;
 import com.codecool.spaceship.model.location.Location;
 import com.codecool.spaceship.model.location.LocationDataGenerator;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.MinerShip;
 import com.codecool.spaceship.model.ship.MinerShipManager;
 import com.codecool.spaceship.model.ship.ScoutShip;
@@ -52,6 +54,7 @@ public class Initializer {
             return;
         }
         initLevels();
+        levelService.reloadLevels();
         initAdmin();
         initDemoUser();
     }
@@ -130,10 +133,10 @@ public class Initializer {
         minerDemo.setShieldEnergy(200);
         minerDemo.setDrillLevel(5);
         minerDemo.setStorageLevel(5);
-        minerDemo.setStoredResources(Map.of(
+        minerDemo.setStoredResources(new ResourceStorage(ResourceVector.of(Map.of(
                 ResourceType.METAL, 50,
                 ResourceType.PLUTONIUM, 10
-        ));
+        ))));
 
         minerDemo.setUser(user);
         minerDemo.setStation(spaceStation2);
@@ -149,12 +152,12 @@ public class Initializer {
 
         spaceStation2.setHangar(Set.of(minerDemo, scoutDemo));
         spaceStation2.setStorageLevel(5);
-        spaceStation2.setStoredResources(Map.of(
+        spaceStation2.setStoredResources(new ResourceStorage(ResourceVector.of(Map.of(
                 ResourceType.METAL, 500,
                 ResourceType.CRYSTAL, 400,
                 ResourceType.SILICONE, 400,
                 ResourceType.PLUTONIUM, 150
-        ));
+        ))));
         spaceStation2.setUser(user);
 
         user.setSpaceStation(spaceStation2);
@@ -10,12 +10,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 @Service
 public class LevelService {
 
     private final LevelRepository levelRepository;
+    private volatile Map<UpgradeableType, NavigableMap<Integer, Level>> levels;
+    private volatile long configVersion;
 
     @Autowired
     public LevelService(LevelRepository levelRepository) {
@@ -27,25 +34,70 @@ public class LevelService {
     }
 
     public Level getLevelByTypeAndLevel(UpgradeableType type, int level) {
-        return levelRepository.getLevelByTypeAndLevel(type, level)
-                .orElseThrow(() -> new IllegalArgumentException(type + " has no level " + level + "."));
+        Level found = getLevels().getOrDefault(type, Collections.emptyNavigableMap()).get(level);
+        if (found == null) {
+            throw new IllegalArgumentException(type + " has no level " + level + ".");
+        }
+        return found;
     }
 
     public List<LevelDTO> getLevelsByType(UpgradeableType type) {
-        return levelRepository.getLevelsByType(type).stream()
+        return getLevels().getOrDefault(type, Collections.emptyNavigableMap()).values().stream()
                 .map(LevelDTO::new)
                 .toList();
     }
 
-    public LevelDTO updateLevelById(Long id, NewLevelDTO newLevelDTO) {
+    public synchronized void reloadLevels() {
+        Map<UpgradeableType, NavigableMap<Integer, Level>> loadedLevels = new EnumMap<>(UpgradeableType.class);
+        levelRepository.getAllLevelsWithCost().stream()
+                .map(LevelService::copyOf)
+                .forEach(level -> loadedLevels.computeIfAbsent(level.getType(), type -> new TreeMap<>())
+                        .put(level.getLevel(), level));
+        levels = loadedLevels;
+        // published after the levels, so whoever sees the new version also sees the levels it stands for
+        configVersion = Integer.toUnsignedLong(loadedLevels.hashCode());
+    }
+
+    // a hash of every level's effect and cost, the same on every node, for ETags of views that show them
+    public long getConfigVersion() {
+        getLevels();
+        return configVersion;
+    }
+
+    private Map<UpgradeableType, NavigableMap<Integer, Level>> getLevels() {
+        Map<UpgradeableType, NavigableMap<Integer, Level>> snapshot = levels;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (levels == null) {
+                    reloadLevels();
+                }
+                snapshot = levels;
+            }
+        }
+        return snapshot;
+    }
+
+    private static Level copyOf(Level level) {
+        return Level.builder()
+                .id(level.getId())
+                .type(level.getType())
+                .level(level.getLevel())
+                .effect(level.getEffect())
+                .max(level.isMax())
+                .cost(Map.copyOf(level.getCost()))
+                .build();
+    }
+
+    public synchronized LevelDTO updateLevelById(Long id, NewLevelDTO newLevelDTO) {
         Level level = levelRepository.findById(id).orElseThrow(() -> new DataNotFoundException("Level not found"));
         level.setEffect(newLevelDTO.effect());
         level.setCost(newLevelDTO.cost());
         levelRepository.save(level);
+        reloadLevels();
         return new LevelDTO(level);
     }
 
-    public LevelDTO addNewLevel(NewLevelDTO newLevelDTO) {
+    public synchronized LevelDTO addNewLevel(NewLevelDTO newLevelDTO) {
         Level prevMaxLevel = levelRepository.getLevelByTypeAndMax(newLevelDTO.type(), true)
                 .orElse(null);
         Level newMaxLevel = Level.builder()
@@ -60,10 +112,11 @@ public class LevelService {
             levelRepository.save(prevMaxLevel);
         }
         newMaxLevel = levelRepository.save(newMaxLevel);
+        reloadLevels();
         return new LevelDTO(newMaxLevel);
     }
 
-    public boolean deleteLastLevelOfType(UpgradeableType type) {
+    public synchronized boolean deleteLastLevelOfType(UpgradeableType type) {
         Level maxLevel = levelRepository.getLevelByTypeAndMax(type, true)
                 .orElseThrow(() -> new RuntimeException("No max level has been set for %s type".formatted(type)));
         if (maxLevel.getLevel() == 1) {
@@ -74,6 +127,7 @@ public class LevelService {
         newMaxLevel.setMax(true);
         levelRepository.delete(maxLevel);
         levelRepository.save(newMaxLevel);
+        reloadLevels();
         return true;
     }
 
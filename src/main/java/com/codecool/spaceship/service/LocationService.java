@@ -1,6 +1,6 @@
 package com.codecool.spaceship.service;
 
-import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.auth.UserPrincipal;
 import com.codecool.spaceship.model.dto.LocationDTO;
 import com.codecool.spaceship.model.resource.ResourceType;
 import com.codecool.spaceship.repository.LocationRepository;
@@ -22,10 +22,10 @@ public class LocationService {
     }
 
     public List<LocationDTO> getAllLocationsForCurrentUser(List<ResourceType> resourceTypes, int reserveGreaterThan, String orderBy, boolean asc) {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         Sort sort = Sort.by(asc ? Sort.Order.asc(orderBy) : Sort.Order.desc(orderBy));
         return locationRepository
-                .findAllByUserAndResourceTypeInAndResourceReserveGreaterThan(user, resourceTypes,reserveGreaterThan, sort)
+                .findAllByUserIdAndResourceTypeInAndResourceReserveGreaterThan(user.getId(), resourceTypes,reserveGreaterThan, sort)
                 .stream()
                 .map(LocationDTO::new)
                 .toList();
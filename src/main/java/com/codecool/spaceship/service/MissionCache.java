@@ -0,0 +1,203 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.dto.VersionedDTO;
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
+import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+@Service
+public class MissionCache {
+
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Long> evictedAtByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Entry<VersionedDTO<MissionDetailDTO>>> details;
+    private final Map<Long, Set<Long>> detailIdsByUser = new HashMap<>();
+    private final Map<Long, Entry<List<MissionDTO>>> activeByUser;
+    private final Counter detailHits;
+    private final Counter detailMisses;
+    private final Counter activeHits;
+    private final Counter activeMisses;
+
+    @Autowired
+    public MissionCache(MeterRegistry meterRegistry, @Value("${spaceship.mission.cache-size:10000}") int maxSize) {
+        this(meterRegistry, maxSize, Clock.systemUTC());
+    }
+
+    public MissionCache(MeterRegistry meterRegistry, int maxSize, Clock clock) {
+        this.clock = clock;
+        details = lruMap(maxSize, this::unindexDetail);
+        activeByUser = lruMap(maxSize, (userId, entry) -> { });
+        detailHits = requestCounter(meterRegistry, "detail", "hit");
+        detailMisses = requestCounter(meterRegistry, "detail", "miss");
+        activeHits = requestCounter(meterRegistry, "active", "hit");
+        activeMisses = requestCounter(meterRegistry, "active", "miss");
+        Gauge.builder("spaceship.mission.cache.size", details, Map::size).tag("cache", "detail").register(meterRegistry);
+        Gauge.builder("spaceship.mission.cache.size", activeByUser, Map::size).tag("cache", "active").register(meterRegistry);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<VersionedDTO<MissionDetailDTO>> getDetail(long missionId, long userId, boolean admin) {
+        Entry<VersionedDTO<MissionDetailDTO>> entry = lookup(details, missionId, this::unindexDetail);
+        if (entry == null || (!admin && entry.userId() != userId)) {
+            detailMisses.increment();
+            return Optional.empty();
+        }
+        detailHits.increment();
+        return Optional.of(entry.value());
+    }
+
+    public void putDetail(Mission mission, VersionedDTO<MissionDetailDTO> detail, long loadedAt) {
+        long userId = mission.getUser().getId();
+        synchronized (details) {
+            if (store(details, mission.getId(), new Entry<>(userId, detail, nextTransition(mission)), loadedAt)) {
+                detailIdsByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(mission.getId());
+            }
+        }
+    }
+
+    public Optional<List<MissionDTO>> getActive(long userId) {
+        Entry<List<MissionDTO>> entry = lookup(activeByUser, userId, (id, expired) -> { });
+        if (entry == null) {
+            activeMisses.increment();
+            return Optional.empty();
+        }
+        activeHits.increment();
+        return Optional.of(entry.value());
+    }
+
+    public void putActive(long userId, List<MissionDTO> missions, long loadedAt) {
+        LocalDateTime expiresAt = missions.stream()
+                .filter(mission -> isPending(mission.getStatus()))
+                .map(MissionDTO::getCurrentObjectiveTime)
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+        store(activeByUser, userId, new Entry<>(userId, List.copyOf(missions), expiresAt), loadedAt);
+    }
+
+    public void evict(Mission mission) {
+        long missionId = mission.getId();
+        long userId = mission.getUser().getId();
+        AfterCommit.run(() -> {
+            markEvicted(userId);
+            synchronized (details) {
+                Entry<VersionedDTO<MissionDetailDTO>> removed = details.remove(missionId);
+                if (removed != null) {
+                    unindexDetail(missionId, removed);
+                }
+            }
+            activeByUser.remove(userId);
+        });
+    }
+
+    public void evictUser(long userId) {
+        AfterCommit.run(() -> {
+            markEvicted(userId);
+            synchronized (details) {
+                Set<Long> missionIds = detailIdsByUser.remove(userId);
+                if (missionIds != null) {
+                    missionIds.forEach(details::remove);
+                }
+            }
+            activeByUser.remove(userId);
+        });
+    }
+
+    private <K, V> Entry<V> lookup(Map<K, Entry<V>> cache, K key, BiConsumer<K, Entry<V>> onExpired) {
+        synchronized (cache) {
+            Entry<V> entry = cache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(LocalDateTime.now(clock))) {
+                cache.remove(key);
+                onExpired.accept(key, entry);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    // anything loaded before an eviction of the same user may predate the change that caused it, so it is not cached
+    private <K, V> boolean store(Map<K, Entry<V>> cache, K key, Entry<V> entry, long loadedAt) {
+        synchronized (cache) {
+            if (evictedAtByUser.getOrDefault(entry.userId(), 0L) > loadedAt || entry.isExpired(LocalDateTime.now(clock))) {
+                return false;
+            }
+            cache.put(key, entry);
+            return true;
+        }
+    }
+
+    private void markEvicted(long userId) {
+        evictedAtByUser.put(userId, generation.incrementAndGet());
+    }
+
+    private void unindexDetail(long missionId, Entry<VersionedDTO<MissionDetailDTO>> entry) {
+        Set<Long> missionIds = detailIdsByUser.get(entry.userId());
+        if (missionIds != null && missionIds.remove(missionId) && missionIds.isEmpty()) {
+            detailIdsByUser.remove(entry.userId());
+        }
+    }
+
+    private static LocalDateTime nextTransition(Mission mission) {
+        return isPending(mission.getCurrentStatus()) ? mission.getNextTransitionTime() : null;
+    }
+
+    private static boolean isPending(MissionStatus status) {
+        return status != MissionStatus.OVER && status != MissionStatus.ARCHIVED;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("spaceship.mission.cache.requests")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxSize, BiConsumer<K, V> onRemoveEldest) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                onRemoveEldest.accept(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        });
+    }
+
+    private record Entry<V>(long userId, V value, LocalDateTime expiresAt) {
+
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+    }
+}
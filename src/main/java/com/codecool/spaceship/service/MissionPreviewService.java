@@ -0,0 +1,73 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.dto.mission.MiningMissionPreviewDTO;
+import com.codecool.spaceship.model.dto.mission.ScoutingMissionPreviewDTO;
+import com.codecool.spaceship.model.location.Location;
+import com.codecool.spaceship.model.mission.MiningMissionManager;
+import com.codecool.spaceship.model.mission.ScoutingMissionManager;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.ship.MinerShipManager;
+import com.codecool.spaceship.model.ship.ScoutShip;
+import com.codecool.spaceship.model.ship.ScoutShipManager;
+import com.codecool.spaceship.model.ship.ShipManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class MissionPreviewService {
+
+    private final ShipManagerFactory shipManagerFactory;
+    private final Map<MiningKey, MiningMissionPreviewDTO> miningPreviews;
+    private final Map<ScoutingKey, ScoutingMissionPreviewDTO> scoutingPreviews;
+
+    @Autowired
+    public MissionPreviewService(ShipManagerFactory shipManagerFactory, @Value("${spaceship.mission.preview-cache-size:10000}") int maxSize) {
+        this.shipManagerFactory = shipManagerFactory;
+        miningPreviews = lruMap(maxSize);
+        scoutingPreviews = lruMap(maxSize);
+    }
+
+    // keyed on resolved effects, not part levels, since admins can change what a level does at runtime
+    public MiningMissionPreviewDTO previewMining(MinerShip ship, Location location, long activityDurationInSecs) {
+        MinerShipManager minerShipManager = (MinerShipManager) shipManagerFactory.getSpaceShipManager(ship);
+        MiningKey key = new MiningKey(minerShipManager.getSpeed(), minerShipManager.getDrillEfficiency(), minerShipManager.getEmptyStorageSpace(),
+                location.getDistanceFromStation(), location.getResourceReserve(), activityDurationInSecs);
+        MiningMissionPreviewDTO preview = miningPreviews.get(key);
+        if (preview == null) {
+            preview = MiningMissionManager.preview(minerShipManager, location, activityDurationInSecs);
+            miningPreviews.put(key, preview);
+        }
+        return preview;
+    }
+
+    public ScoutingMissionPreviewDTO previewScouting(ScoutShip ship, int distance, long activityDurationInSecs) {
+        ScoutShipManager scoutShipManager = (ScoutShipManager) shipManagerFactory.getSpaceShipManager(ship);
+        ScoutingKey key = new ScoutingKey(scoutShipManager.getSpeed(), scoutShipManager.getScannerEfficiency(), distance, activityDurationInSecs);
+        ScoutingMissionPreviewDTO preview = scoutingPreviews.get(key);
+        if (preview == null) {
+            preview = ScoutingMissionManager.preview(scoutShipManager, distance, activityDurationInSecs);
+            scoutingPreviews.put(key, preview);
+        }
+        return preview;
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private record MiningKey(int speed, int drillEfficiency, int emptyStorageSpace, int distance, int resourceReserve, long activityDurationInSecs) {
+    }
+
+    private record ScoutingKey(int speed, int scannerEfficiency, int distance, long activityDurationInSecs) {
+    }
+}
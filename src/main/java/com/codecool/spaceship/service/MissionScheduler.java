@@ -0,0 +1,179 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.dto.mission.MissionUpdateDTO;
+import com.codecool.spaceship.model.mission.DueMission;
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.MissionFactory;
+import com.codecool.spaceship.model.mission.MissionManager;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.repository.MissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class MissionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissionScheduler.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final List<MissionStatus> ACTIVE_STATUSES = List.of(MissionStatus.EN_ROUTE, MissionStatus.IN_PROGRESS, MissionStatus.RETURNING);
+
+    private final MissionRepository missionRepository;
+    private final MissionFactory missionFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final MissionStreamService missionStreamService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final MissionCache missionCache;
+    private final int sweepBatchSize;
+    private final DelayQueue<ScheduledTransition> queue = new DelayQueue<>();
+    private final Map<Long, ScheduledTransition> pending = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    @Autowired
+    public MissionScheduler(MissionRepository missionRepository, MissionFactory missionFactory, TransactionTemplate transactionTemplate,
+                            MissionStreamService missionStreamService, OptimisticRetryExecutor optimisticRetryExecutor, MissionCache missionCache,
+                            @Value("${spaceship.mission.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.missionRepository = missionRepository;
+        this.missionFactory = missionFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.missionStreamService = missionStreamService;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.missionCache = missionCache;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        sweepDueMissions(now);
+        missionRepository.getMissionsByCurrentStatusInAndCurrentObjectiveTimeAfter(ACTIVE_STATUSES, now)
+                .forEach(this::schedule);
+        worker = new Thread(this::run, "mission-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public void schedule(Mission mission) {
+        long missionId = mission.getId();
+        if (mission.getCurrentStatus() == MissionStatus.OVER || mission.getCurrentStatus() == MissionStatus.ARCHIVED) {
+            AfterCommit.run(() -> pending.remove(missionId));
+            return;
+        }
+        Instant dueAt = mission.getNextTransitionTime().toInstant(ZoneOffset.UTC);
+        AfterCommit.run(() -> schedule(missionId, dueAt));
+    }
+
+    private void schedule(long missionId, Instant dueAt) {
+        ScheduledTransition transition = new ScheduledTransition(missionId, dueAt);
+        pending.put(missionId, transition);
+        queue.put(transition);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            ScheduledTransition transition;
+            try {
+                transition = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!pending.remove(transition.missionId(), transition)) {
+                continue;
+            }
+            try {
+                advance(transition.missionId());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not advance mission {}, retrying in {}", transition.missionId(), RETRY_DELAY, e);
+                schedule(transition.missionId(), Instant.now().plus(RETRY_DELAY));
+            }
+        }
+    }
+
+    public void sweepDueMissions(LocalDateTime time) {
+        PageRequest page = PageRequest.of(0, sweepBatchSize);
+        List<DueMission> due = missionRepository.getDueMissions(ACTIVE_STATUSES, time, page);
+        while (!due.isEmpty()) {
+            DueMission last = due.get(due.size() - 1);
+            advanceBatch(due.stream().map(DueMission::id).toList());
+            if (due.size() < sweepBatchSize) {
+                return;
+            }
+            due = missionRepository.getDueMissionsAfter(ACTIVE_STATUSES, time, last.currentObjectiveTime(), last.id(), page);
+        }
+    }
+
+    private void advanceBatch(List<Long> missionIds) {
+        List<Mission> missions;
+        try {
+            missions = transactionTemplate.execute(status -> {
+                List<Mission> batch = missionRepository.findAllById(missionIds);
+                batch.forEach(this::updateAndPublish);
+                return missionRepository.saveAll(batch);
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not advance batch of {} missions, falling back to one by one", missionIds.size(), e);
+            missionIds.forEach(id -> schedule(id, Instant.now()));
+            return;
+        }
+        missions.forEach(this::schedule);
+    }
+
+    private void advance(long missionId) {
+        optimisticRetryExecutor.run(() -> missionRepository.findById(missionId).ifPresent(mission -> {
+            if (updateAndPublish(mission)) {
+                missionRepository.save(mission);
+            }
+            schedule(mission);
+        }));
+    }
+
+    private boolean updateAndPublish(Mission mission) {
+        int knownReports = MissionUpdateDTO.countReports(mission);
+        MissionManager missionManager = missionFactory.getMissionManager(mission);
+        if (!missionManager.updateStatus()) {
+            return false;
+        }
+        missionCache.evict(mission);
+        missionStreamService.publish(mission, knownReports);
+        return true;
+    }
+
+    private record ScheduledTransition(long missionId, Instant dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), dueAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return dueAt.compareTo(((ScheduledTransition) other).dueAt);
+        }
+    }
+}
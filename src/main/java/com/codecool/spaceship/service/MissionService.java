@@ -1,11 +1,15 @@
 package com.codecool.spaceship.service;
 
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.dto.VersionedDTO;
+import com.codecool.spaceship.model.dto.mission.MiningMissionPreviewDTO;
 import com.codecool.spaceship.model.dto.mission.NewMiningMissionDTO;
 import com.codecool.spaceship.model.dto.mission.NewScoutingMissionDTO;
+import com.codecool.spaceship.model.dto.mission.ScoutingMissionPreviewDTO;
 import com.codecool.spaceship.model.location.Location;
-import com.codecool.spaceship.model.UserEntity;
 import com.codecool.spaceship.model.dto.mission.MissionDTO;
 import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
+import com.codecool.spaceship.model.dto.mission.MissionUpdateDTO;
 import com.codecool.spaceship.model.exception.DataNotFoundException;
 import com.codecool.spaceship.model.exception.IllegalOperationException;
 import com.codecool.spaceship.model.mission.*;
@@ -19,9 +23,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class MissionService {
@@ -30,131 +36,182 @@ public class MissionService {
     private final MissionFactory missionFactory;
     private final SpaceShipRepository spaceShipRepository;
     private final LocationRepository locationRepository;
+    private final MissionScheduler missionScheduler;
+    private final MissionStreamService missionStreamService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final PlayerLaneExecutor playerLaneExecutor;
+    private final MissionCache missionCache;
+    private final MissionPreviewService missionPreviewService;
 
     @Autowired
-    public MissionService(MissionRepository missionRepository, MissionFactory missionFactory, SpaceShipRepository spaceShipRepository, LocationRepository locationRepository) {
+    public MissionService(MissionRepository missionRepository, MissionFactory missionFactory, SpaceShipRepository spaceShipRepository,
+                          LocationRepository locationRepository, MissionScheduler missionScheduler,
+                          MissionStreamService missionStreamService, OptimisticRetryExecutor optimisticRetryExecutor,
+                          PlayerLaneExecutor playerLaneExecutor, MissionCache missionCache,
+                          MissionPreviewService missionPreviewService) {
         this.missionRepository = missionRepository;
         this.missionFactory = missionFactory;
         this.spaceShipRepository = spaceShipRepository;
         this.locationRepository = locationRepository;
+        this.missionScheduler = missionScheduler;
+        this.missionStreamService = missionStreamService;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.playerLaneExecutor = playerLaneExecutor;
+        this.missionCache = missionCache;
+        this.missionPreviewService = missionPreviewService;
+    }
+
+    public SseEmitter subscribeToMissionUpdates() {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return missionStreamService.subscribe(user.getId());
     }
 
     public List<MissionDTO> getAllActiveMissionsForCurrentUser() {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return missionRepository.getMissionsByUserIdAndCurrentStatusNot(user.getId(), MissionStatus.ARCHIVED).stream()
-                .map(this::updateAndConvert)
-                .toList();
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return getAllActiveMissionsByUserId(user.getId());
     }
 
     public List<MissionDTO> getAllActiveMissionsByUserId(Long userId) {
-        return missionRepository.getMissionsByUserIdAndCurrentStatusNot(userId, MissionStatus.ARCHIVED).stream()
-                .map(this::updateAndConvert)
-                .toList();
+        return missionCache.getActive(userId).orElseGet(() -> {
+            long loadedAt = missionCache.generation();
+            List<MissionDTO> missions = missionRepository.getMissionDTOsByUserIdAndCurrentStatusNot(userId, MissionStatus.ARCHIVED);
+            missionCache.putActive(userId, missions, loadedAt);
+            return missions;
+        });
     }
 
     public List<MissionDTO> getAllArchivedMissionsForCurrentUser() {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return missionRepository.getMissionsByUserIdAndCurrentStatus(user.getId(), MissionStatus.ARCHIVED).stream()
-                .map(MissionDTO::new)
-                .toList();
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return missionRepository.getMissionDTOsByUserIdAndCurrentStatus(user.getId(), MissionStatus.ARCHIVED);
     }
 
     public List<MissionDTO> getAllArchivedMissionsByUserId(Long userId) {
-        return missionRepository.getMissionsByUserIdAndCurrentStatus(userId, MissionStatus.ARCHIVED).stream()
-                .map(MissionDTO::new)
-                .toList();
+        return missionRepository.getMissionDTOsByUserIdAndCurrentStatus(userId, MissionStatus.ARCHIVED);
     }
 
-    public MissionDetailDTO getMissionById(Long id) throws DataNotFoundException {
-        Mission mission = getMissionByIdAndCheckAccess(id);
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        if (missionManager.updateStatus()) {
-            missionRepository.save(mission);
-        }
-        return missionManager.getDetailedDTO();
+    public VersionedDTO<MissionDetailDTO> getMissionById(Long id) throws DataNotFoundException {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        boolean admin = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        return missionCache.getDetail(id, user.getId(), admin).orElseGet(() -> {
+            long loadedAt = missionCache.generation();
+            Mission mission = getMissionByIdAndCheckAccess(id);
+            MissionDetailDTO detail = missionFactory.getMissionManager(mission).getDetailedDTO();
+            LocalDateTime expiresAt = mission.getCurrentStatus() == MissionStatus.OVER || mission.getCurrentStatus() == MissionStatus.ARCHIVED
+                    ? null
+                    : mission.getNextTransitionTime();
+            VersionedDTO<MissionDetailDTO> versioned = VersionedDTO.of(() -> detail, expiresAt, "mission",
+                    mission.getVersion(), mission.getShip().getVersion());
+            missionCache.putDetail(mission, versioned, loadedAt);
+            return versioned;
+        });
     }
 
     public MissionDetailDTO startNewMiningMission(NewMiningMissionDTO newMissionDTO) throws DataNotFoundException, IllegalOperationException {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        SpaceShip spaceShip = spaceShipRepository.findById(newMissionDTO.shipId())
-                .orElseThrow(() -> new DataNotFoundException("No ship found with id %d.".formatted(newMissionDTO.shipId())));
-        if (!Objects.equals(user.getId(), spaceShip.getUser().getId())) {
-            throw new SecurityException("You don't have authority to send this ship.");
-        }
+        return playerLaneExecutor.executeForCurrentUser(() -> optimisticRetryExecutor.execute(() -> {
+            SpaceShip spaceShip = getOwnShip(newMissionDTO.shipId());
+            if (!(spaceShip instanceof MinerShip)) {
+                throw new IllegalArgumentException("Ship is not a miner ship.");
+            }
+            Location location = locationRepository.findById(newMissionDTO.locationId())
+                    .orElseThrow(() -> new DataNotFoundException("No location found with id %d.".formatted(newMissionDTO.locationId())));
+            MiningMission mission = missionFactory.startNewMiningMission((MinerShip) spaceShip, location, newMissionDTO.activityTime());
+            mission = missionRepository.save(mission);
+            MissionManager missionManager = missionFactory.getMissionManager(mission);
+            missionManager.updateStatus();
+            missionRepository.save(mission);
+            missionScheduler.schedule(mission);
+            missionCache.evict(mission);
+            missionStreamService.publish(mission, 0);
+            return missionManager.getDetailedDTO();
+        }));
+    }
+
+    public MiningMissionPreviewDTO previewMiningMission(NewMiningMissionDTO newMissionDTO) throws DataNotFoundException {
+        SpaceShip spaceShip = getOwnShip(newMissionDTO.shipId());
         if (!(spaceShip instanceof MinerShip)) {
             throw new IllegalArgumentException("Ship is not a miner ship.");
         }
         Location location = locationRepository.findById(newMissionDTO.locationId())
                 .orElseThrow(() -> new DataNotFoundException("No location found with id %d.".formatted(newMissionDTO.locationId())));
-        MiningMission mission = missionFactory.startNewMiningMission((MinerShip) spaceShip, location, newMissionDTO.activityTime());
-        mission = missionRepository.save(mission);
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        missionManager.updateStatus();
-        missionRepository.save(mission);
-        return missionManager.getDetailedDTO();
+        return missionPreviewService.previewMining((MinerShip) spaceShip, location, newMissionDTO.activityTime());
     }
 
-    public MissionDetailDTO startNewScoutingMission(NewScoutingMissionDTO newMissionDTO) {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        SpaceShip spaceShip = spaceShipRepository.findById(newMissionDTO.shipId())
-                .orElseThrow(() -> new DataNotFoundException("No ship found with id %d.".formatted(newMissionDTO.shipId())));
-        if (!Objects.equals(user.getId(), spaceShip.getUser().getId())) {
-            throw new SecurityException("You don't have authority to send this ship.");
-        }
+    public ScoutingMissionPreviewDTO previewScoutingMission(NewScoutingMissionDTO newMissionDTO) throws DataNotFoundException {
+        SpaceShip spaceShip = getOwnShip(newMissionDTO.shipId());
         if (!(spaceShip instanceof ScoutShip)) {
             throw new IllegalArgumentException("Ship is not a scout ship.");
         }
-        ScoutingMission mission = missionFactory.startNewScoutingMission((ScoutShip) spaceShip, newMissionDTO.distance(),
-                newMissionDTO.activityTime(), newMissionDTO.targetResource(), newMissionDTO.prioritizingDistance());
-        mission = missionRepository.save(mission);
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        missionManager.updateStatus();
-        missionRepository.save(mission);
-        return missionManager.getDetailedDTO();
+        return missionPreviewService.previewScouting((ScoutShip) spaceShip, newMissionDTO.distance(), newMissionDTO.activityTime());
     }
 
-    public MissionDetailDTO archiveMission(Long id) throws DataNotFoundException, IllegalOperationException {
-        Mission mission = getMissionByIdAndCheckAccess(id);
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        if (missionManager.archiveMission()) {
+    public MissionDetailDTO startNewScoutingMission(NewScoutingMissionDTO newMissionDTO) {
+        return playerLaneExecutor.executeForCurrentUser(() -> optimisticRetryExecutor.execute(() -> {
+            SpaceShip spaceShip = getOwnShip(newMissionDTO.shipId());
+            if (!(spaceShip instanceof ScoutShip)) {
+                throw new IllegalArgumentException("Ship is not a scout ship.");
+            }
+            ScoutingMission mission = missionFactory.startNewScoutingMission((ScoutShip) spaceShip, newMissionDTO.distance(),
+                    newMissionDTO.activityTime(), newMissionDTO.targetResource(), newMissionDTO.prioritizingDistance());
+            mission = missionRepository.save(mission);
+            MissionManager missionManager = missionFactory.getMissionManager(mission);
+            missionManager.updateStatus();
             missionRepository.save(mission);
+            missionScheduler.schedule(mission);
+            missionCache.evict(mission);
+            missionStreamService.publish(mission, 0);
             return missionManager.getDetailedDTO();
-        }
-        return null;
+        }));
+    }
+
+    public MissionDetailDTO archiveMission(Long id) throws DataNotFoundException, IllegalOperationException {
+        return playerLaneExecutor.executeForOwner(id, missionRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            Mission mission = getMissionByIdAndCheckAccess(id);
+            MissionManager missionManager = missionFactory.getMissionManager(mission);
+            if (missionManager.archiveMission()) {
+                missionRepository.save(mission);
+                missionCache.evict(mission);
+                missionStreamService.publish(mission, MissionUpdateDTO.countReports(mission));
+                return missionManager.getDetailedDTO();
+            }
+            return null;
+        }));
     }
 
     public MissionDetailDTO abortMission(Long id) throws DataNotFoundException, IllegalOperationException {
-        Mission mission = getMissionByIdAndCheckAccess(id);
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        if (missionManager.updateStatus()) {
-            missionRepository.save(mission);
-        }
-        if (missionManager.abortMission()) {
-            missionRepository.save(mission);
-            return missionManager.getDetailedDTO();
-        }
-        return null;
+        return playerLaneExecutor.executeForOwner(id, missionRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            Mission mission = getMissionByIdAndCheckAccess(id);
+            MissionManager missionManager = missionFactory.getMissionManager(mission);
+            int knownReports = MissionUpdateDTO.countReports(mission);
+            if (missionManager.updateStatus()) {
+                missionRepository.save(mission);
+            }
+            if (missionManager.abortMission()) {
+                missionRepository.save(mission);
+                missionScheduler.schedule(mission);
+                missionCache.evict(mission);
+                missionStreamService.publish(mission, knownReports);
+                return missionManager.getDetailedDTO();
+            }
+            return null;
+        }));
     }
 
-    private MissionDTO updateAndConvert(Mission mission) {
-        MissionManager missionManager = missionFactory.getMissionManager(mission);
-        if (missionManager.updateStatus()) {
-            mission = missionRepository.save(mission);
-        }
-        return new MissionDTO(mission);
+    private SpaceShip getOwnShip(long shipId) throws DataNotFoundException {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return spaceShipRepository.findByIdAndUserId(shipId, user.getId())
+                .orElseThrow(() -> spaceShipRepository.existsById(shipId)
+                        ? new SecurityException("You don't have authority to send this ship.")
+                        : new DataNotFoundException("No ship found with id %d.".formatted(shipId)));
     }
 
     private Mission getMissionByIdAndCheckAccess(Long id) throws DataNotFoundException {
-        Mission mission = missionRepository.findById(id)
-                .orElseThrow(() -> new DataNotFoundException("No mission found with id %d".formatted(id)));
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        if (user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
-                || Objects.equals(user.getId(), mission.getUser().getId())) {
-            return mission;
-        } else {
-            throw new SecurityException("You don't have authority to access this mission");
-        }
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Optional<Mission> mission = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                ? missionRepository.findById(id)
+                : missionRepository.findByIdAndUserId(id, user.getId());
+        return mission.orElseThrow(() -> missionRepository.existsById(id)
+                ? new SecurityException("You don't have authority to access this mission")
+                : new DataNotFoundException("No mission found with id %d".formatted(id)));
     }
 
 }
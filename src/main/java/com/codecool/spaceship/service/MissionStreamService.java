@@ -0,0 +1,165 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.dto.mission.MissionUpdateDTO;
+import com.codecool.spaceship.model.mission.Mission;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Service
+public class MissionStreamService {
+
+    private static final long EMITTER_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private final Map<Long, List<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Duration sendTimeout;
+    private final Duration heartbeatInterval;
+    // a client that stops reading only ever holds up its own subscriber's thread
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mission-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mission-stream-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public MissionStreamService(@Value("${spaceship.mission-stream.send-timeout:PT5S}") Duration sendTimeout,
+                                @Value("${spaceship.mission-stream.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.sendTimeout = sendTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    // keeps idle connections from being cut by proxies, and finds clients that went away without closing
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMillis = heartbeatInterval.toMillis();
+        watchdog.scheduleAtFixedRate(this::heartbeat, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        return subscribe(userId, new SseEmitter(EMITTER_TIMEOUT));
+    }
+
+    SseEmitter subscribe(long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribersByUser.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    public void publish(Mission mission, int knownReports) {
+        long userId = mission.getUser().getId();
+        if (!subscribersByUser.containsKey(userId)) {
+            return;
+        }
+        MissionUpdateDTO update = new MissionUpdateDTO(mission, knownReports);
+        AfterCommit.run(() -> dispatch(userId, () -> SseEmitter.event().name("mission").data(update)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    int getSubscriberCount(long userId) {
+        return subscribersByUser.getOrDefault(userId, List.of()).size();
+    }
+
+    private void heartbeat() {
+        subscribersByUser.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.offer(() -> SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // a builder is spent once sent, so each subscriber gets its own
+    private void dispatch(long userId, Supplier<SseEventBuilder> event) {
+        subscribersByUser.getOrDefault(userId, List.of()).forEach(subscriber -> subscriber.offer(event));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private class Subscriber {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // events of one subscriber go out in order, one sender at a time
+        void offer(Supplier<SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEventBuilder> event;
+                while (!closed && (event = pending.poll()) != null) {
+                    send(event);
+                }
+                draining.set(false);
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(Supplier<SseEventBuilder> event) {
+            // completing waits for the emitter's lock, which the stuck send holds, so it can't run on the watchdog
+            ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+                unsubscribe(this);
+                senders.execute(() -> emitter.completeWithError(new TimeoutException("Mission stream send timed out")));
+            }, sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.codecool.spaceship.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+@Service
+public class OptimisticRetryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxAttempts;
+
+    @Autowired
+    public OptimisticRetryExecutor(TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                   @Value("${spaceship.optimistic-retry.max-attempts:3}") int maxAttempts) {
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                LOGGER.debug("Concurrent update detected, retrying (attempt {} of {})", attempt + 1, maxAttempts);
+                // drop the stale copies so the next attempt reads the committed state
+                entityManager.clear();
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
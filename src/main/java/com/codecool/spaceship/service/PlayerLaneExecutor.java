@@ -0,0 +1,105 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.exception.PlayerBusyException;
+import com.codecool.spaceship.auth.UserPrincipal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+@Service
+public class PlayerLaneExecutor {
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final int maxQueued;
+    private final Duration timeout;
+    private final Timer waitTimer;
+
+    @Autowired
+    public PlayerLaneExecutor(MeterRegistry meterRegistry,
+                              @Value("${spaceship.player-lane.max-queued:16}") int maxQueued,
+                              @Value("${spaceship.player-lane.timeout:PT5S}") Duration timeout) {
+        this.maxQueued = maxQueued;
+        this.timeout = timeout;
+        Gauge.builder("spaceship.player.lane.queue.depth", this, PlayerLaneExecutor::getQueueDepth)
+                .description("State-changing operations waiting for their player lane")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("spaceship.player.lane.wait")
+                .description("Time an operation spent queued before its player lane picked it up")
+                .register(meterRegistry);
+    }
+
+    // runs the action on the calling thread once every earlier action for the same owner has finished
+    public <T> T execute(long ownerId, Supplier<T> action) {
+        Lane lane = lanes.compute(ownerId, (id, existing) -> (existing == null ? new Lane() : existing).join());
+        try {
+            if (lane.lock.isHeldByCurrentThread()) {
+                return action.get();
+            }
+            if (lane.lock.getQueueLength() >= maxQueued) {
+                throw new PlayerBusyException("Too many pending operations, try again later.");
+            }
+            long queuedAt = System.nanoTime();
+            if (!lane.lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new PlayerBusyException("Previous operations are still running, try again later.");
+            }
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return action.get();
+            } finally {
+                lane.lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlayerBusyException("Interrupted while waiting for previous operations.");
+        } finally {
+            lanes.computeIfPresent(ownerId, (id, existing) -> existing.leave());
+        }
+    }
+
+    public <T> T executeForCurrentUser(Supplier<T> action) {
+        return execute(getCurrentUserId(), action);
+    }
+
+    // admins can act on other players' stations, ships and missions, so the lane belongs to the owner rather than the caller;
+    // an unknown id falls back to the caller's lane, where the action's own access check rejects it
+    public <T> T executeForOwner(long id, LongFunction<Optional<Long>> ownerLookup, Supplier<T> action) {
+        return execute(ownerLookup.apply(id).orElseGet(PlayerLaneExecutor::getCurrentUserId), action);
+    }
+
+    public int getQueueDepth() {
+        return lanes.values().stream().mapToInt(lane -> lane.lock.getQueueLength()).sum();
+    }
+
+    private static long getCurrentUserId() {
+        return ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+
+    private static class Lane {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // only touched inside ConcurrentHashMap.compute, which serializes it per owner
+        private int users;
+
+        Lane join() {
+            users++;
+            return this;
+        }
+
+        Lane leave() {
+            return --users == 0 ? null : this;
+        }
+    }
+}
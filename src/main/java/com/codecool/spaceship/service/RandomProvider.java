@@ -0,0 +1,30 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.mission.Mission;
+import org.springframework.stereotype.Service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+@Service
+public class RandomProvider {
+
+    // for outcomes that don't need to be reproduced; never hand the result to another thread
+    public RandomGenerator current() {
+        return ThreadLocalRandom.current();
+    }
+
+    public long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    public RandomGenerator forMission(Mission mission) {
+        return new SplittableRandom(mission.getSeed());
+    }
+
+    // split off the mission stream, so planning hazards doesn't shift the draws of the mission outcome
+    public RandomGenerator forHazards(Mission mission) {
+        return new SplittableRandom(mission.getSeed()).split();
+    }
+}
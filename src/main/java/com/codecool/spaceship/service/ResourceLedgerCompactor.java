@@ -0,0 +1,95 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.repository.ResourceLedgerRepository;
+import com.codecool.spaceship.repository.SpaceStationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ResourceLedgerCompactor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceLedgerCompactor.class);
+
+    private final ResourceLedgerRepository resourceLedgerRepository;
+    private final SpaceStationRepository spaceStationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration compactionInterval;
+    private final int batchSize;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public ResourceLedgerCompactor(ResourceLedgerRepository resourceLedgerRepository, SpaceStationRepository spaceStationRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${spaceship.ledger.compaction-interval:PT1M}") Duration compactionInterval,
+                                   @Value("${spaceship.ledger.compaction-batch-size:1000}") int batchSize) {
+        this.resourceLedgerRepository = resourceLedgerRepository;
+        this.spaceStationRepository = spaceStationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionInterval = compactionInterval;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = compactionInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::compact, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int compact() {
+        int compacted = 0;
+        long afterId = 0;
+        List<Long> stationIds;
+        do {
+            stationIds = resourceLedgerRepository.getStationIdsToCompact(afterId, PageRequest.of(0, batchSize));
+            for (Long stationId : stationIds) {
+                try {
+                    Boolean done = transactionTemplate.execute(status -> compactStation(stationId));
+                    if (Boolean.TRUE.equals(done)) {
+                        compacted++;
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to compact resource ledger of station {}", stationId, e);
+                }
+                afterId = stationId;
+            }
+        } while (stationIds.size() == batchSize);
+        return compacted;
+    }
+
+    // an append only gets seq n + 1 once n is committed, so every seq up to the last visible one is settled;
+    // the row lock keeps two compactors from folding the same tail
+    private boolean compactStation(long stationId) {
+        return spaceStationRepository.lockById(stationId)
+                .flatMap(station -> resourceLedgerRepository.getLastSeq(stationId)
+                        .filter(upTo -> upTo > station.getLedgerWatermark())
+                        .map(upTo -> spaceStationRepository.compactLedger(stationId, station.getLedgerWatermark(), upTo,
+                                resourceLedgerRepository.getTail(stationId, station.getLedgerWatermark(), upTo).toVector()) == 1))
+                .orElse(false);
+    }
+}
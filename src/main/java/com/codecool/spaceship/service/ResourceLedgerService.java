@@ -0,0 +1,63 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.exception.StorageException;
+import com.codecool.spaceship.model.resource.LedgerReason;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.station.SpaceStation;
+import com.codecool.spaceship.repository.ResourceLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.IntSupplier;
+
+@Service
+public class ResourceLedgerService {
+
+    private final ResourceLedgerRepository resourceLedgerRepository;
+
+    @Autowired
+    public ResourceLedgerService(ResourceLedgerRepository resourceLedgerRepository) {
+        this.resourceLedgerRepository = resourceLedgerRepository;
+    }
+
+    public ResourceVector getBalance(SpaceStation station) {
+        ResourceVector tail = resourceLedgerRepository.getTail(station.getId(), station.getLedgerWatermark(), Long.MAX_VALUE).toVector();
+        return station.getStoredResources().toVector().plus(tail);
+    }
+
+    public long getHead(SpaceStation station) {
+        return resourceLedgerRepository.getLastSeq(station.getId()).orElse(station.getLedgerWatermark());
+    }
+
+    public void withdraw(long stationId, ResourceVector cost, LedgerReason reason) throws StorageException {
+        if (!cost.isZero() && append(stationId, () -> resourceLedgerRepository.appendWithdrawal(stationId, cost, reason, now())) == 0) {
+            throw new StorageException("Not enough resource");
+        }
+    }
+
+    public void deposit(long stationId, ResourceVector resources, LedgerReason reason) throws StorageException {
+        if (resources.hasNegative()) {
+            throw new StorageException("Can't add negative resources.");
+        }
+        if (!resources.isZero() && append(stationId, () -> resourceLedgerRepository.appendDeposit(stationId, resources, reason, now())) == 0) {
+            throw new StorageException("Not enough storage space.");
+        }
+    }
+
+    // a duplicate seq means another append landed after the balance was read, so the whole unit of work is retried
+    private static int append(long stationId, IntSupplier insert) {
+        try {
+            return insert.getAsInt();
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("Ledger of station %d was appended concurrently".formatted(stationId), e);
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
@@ -1,18 +1,15 @@
 package com.codecool.spaceship.service;
 
-import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.dto.VersionedDTO;
 import com.codecool.spaceship.model.dto.ship.ShipDTO;
 import com.codecool.spaceship.model.dto.ship.ShipDetailDTO;
 import com.codecool.spaceship.model.exception.*;
-import com.codecool.spaceship.model.mission.Mission;
-import com.codecool.spaceship.model.mission.MissionManager;
-import com.codecool.spaceship.model.mission.MissionFactory;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.LedgerReason;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.*;
 import com.codecool.spaceship.model.ship.shipparts.Color;
 import com.codecool.spaceship.model.ship.shipparts.ShipPart;
-import com.codecool.spaceship.model.station.SpaceStationManager;
-import com.codecool.spaceship.repository.MissionRepository;
 import com.codecool.spaceship.repository.SpaceShipRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,31 +17,37 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class ShipService {
     private final SpaceShipRepository spaceShipRepository;
-    private final MissionRepository missionRepository;
+    private final ResourceLedgerService resourceLedgerService;
     private final ShipManagerFactory shipManagerFactory;
-    private final MissionFactory missionFactory;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final PlayerLaneExecutor playerLaneExecutor;
+    private final MissionCache missionCache;
     private final LevelService levelService;
 
     @Autowired
-    public ShipService(SpaceShipRepository spaceShipRepository, MissionRepository missionRepository, ShipManagerFactory shipManagerFactory, MissionFactory missionFactory, LevelService levelService) {
+    public ShipService(SpaceShipRepository spaceShipRepository, ResourceLedgerService resourceLedgerService, ShipManagerFactory shipManagerFactory,
+                       OptimisticRetryExecutor optimisticRetryExecutor, PlayerLaneExecutor playerLaneExecutor, MissionCache missionCache,
+                       LevelService levelService) {
         this.spaceShipRepository = spaceShipRepository;
-        this.missionRepository = missionRepository;
+        this.resourceLedgerService = resourceLedgerService;
         this.shipManagerFactory = shipManagerFactory;
-        this.missionFactory = missionFactory;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.playerLaneExecutor = playerLaneExecutor;
+        this.missionCache = missionCache;
         this.levelService = levelService;
     }
 
     public List<ShipDTO> getShipsByStation(long stationId) {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (!user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
-                && user.getSpaceStation().getId() != stationId) {
+                && !Objects.equals(user.getStationId(), stationId)) {
             throw new SecurityException("You don't have authority to access these ships");
         }
         return spaceShipRepository.getSpaceShipsByStationId(stationId).stream()
@@ -56,39 +59,47 @@ public class ShipService {
         return new ShipDTO(getShipByIdAndCheckAccess(id));
     }
 
-    public ShipDetailDTO getShipDetailsById(long id) throws DataNotFoundException, IllegalArgumentException {
+    public VersionedDTO<ShipDetailDTO> getShipDetailsById(long id) throws DataNotFoundException, IllegalArgumentException {
         SpaceShip ship = getShipByIdAndCheckAccess(id);
-        SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(ship);
-        updateMissionIfExists(spaceShipManager);
-        return spaceShipManager.getDetailedDTO();
+        return VersionedDTO.of(() -> shipManagerFactory.getSpaceShipManager(ship).getDetailedDTO(), "ship",
+                ship.getVersion(), levelService.getConfigVersion());
     }
 
     public ShipDetailDTO upgradeShipPart(Long id, ShipPart part) throws DataNotFoundException, UpgradeNotAvailableException, NoSuchPartException, StorageException {
-        SpaceShip ship = getShipByIdAndCheckAccess(id);
-        SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(ship);
-        SpaceStationManager stationManager = new SpaceStationManager(ship.getStation(), levelService);
-        if (stationManager.hasShipAvailable(ship)) {
-            stationManager.removeResources(spaceShipManager.getUpgradeCost(part));
+        return playerLaneExecutor.executeForOwner(id, spaceShipRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceShip ship = getShipByIdAndCheckAccess(id);
+            if (ship.getStation() == null) {
+                throw new StorageException("No such ship in storage");
+            } else if (ship.getCurrentMission() != null) {
+                throw new StorageException("Ship is on a mission");
+            }
+            SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(ship);
+            ResourceVector cost = spaceShipManager.getUpgradeCost(part);
             spaceShipManager.upgradePart(part);
-            spaceShipRepository.save(ship);
-        }
-        return spaceShipManager.getDetailedDTO();
+            // ship row before ledger, the same order as cargo transfers; a failed payment rolls the upgrade back
+            spaceShipRepository.saveAndFlush(ship);
+            resourceLedgerService.withdraw(ship.getStation().getId(), cost, LedgerReason.UPGRADE);
+            return spaceShipManager.getDetailedDTO();
+        }));
     }
 
     public ShipDTO updateShipAttributes(Long id, String name, Color color) throws DataNotFoundException {
-        SpaceShip ship = getShipByIdAndCheckAccess(id);
+        return playerLaneExecutor.executeForOwner(id, spaceShipRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceShip ship = getShipByIdAndCheckAccess(id);
 
-        if (name != null && !name.equals("")) {
-            ship.setName(name);
-        }
-        if (color != null) {
-            ship.setColor(color);
-        }
-        ship = spaceShipRepository.save(ship);
-        return new ShipDTO(ship);
+            if (name != null && !name.equals("")) {
+                ship.setName(name);
+            }
+            if (color != null) {
+                ship.setColor(color);
+            }
+            ship = spaceShipRepository.save(ship);
+            missionCache.evictUser(ship.getUser().getId());
+            return new ShipDTO(ship);
+        }));
     }
 
-    public Map<ResourceType, Integer> getShipCost(ShipType shipType) {
+    public ResourceVector getShipCost(ShipType shipType) {
         if (shipType != null) {
             return shipType.getCost();
         } else {
@@ -100,44 +111,33 @@ public class ShipService {
         return Color.values();
     }
 
-    public Map<ResourceType, Integer> getShipPartUpgradeCost(Long id, ShipPart shipPart) throws DataNotFoundException, UpgradeNotAvailableException, NoSuchPartException {
+    public ResourceVector getShipPartUpgradeCost(Long id, ShipPart shipPart) throws DataNotFoundException, UpgradeNotAvailableException, NoSuchPartException {
         SpaceShip ship = getShipByIdAndCheckAccess(id);
         SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(ship);
         return spaceShipManager.getUpgradeCost(shipPart);
     }
 
     public boolean deleteShipById(Long id) throws StorageException, DataNotFoundException {
-        SpaceShip ship = getShipByIdAndCheckAccess(id);
-
-        if (ship.getCurrentMission() != null) {
-            throw new StorageException("Ship can't be deleted while on mission");
-        }
-        spaceShipRepository.delete(ship);
-        return true;
-    }
+        return playerLaneExecutor.executeForOwner(id, spaceShipRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceShip ship = getShipByIdAndCheckAccess(id);
 
-    private void updateMissionIfExists(SpaceShipManager spaceShipManager) {
-        Mission currentMission = spaceShipManager.getCurrentMission();
-        if (currentMission != null) {
-            MissionManager missionManager = missionFactory.getMissionManager(currentMission);
-            missionManager.setShipManager(spaceShipManager);
-            if (missionManager.updateStatus()) {
-                missionRepository.save(currentMission);
+            if (ship.getCurrentMission() != null) {
+                throw new StorageException("Ship can't be deleted while on mission");
             }
-        }
+            spaceShipRepository.delete(ship);
+            missionCache.evictUser(ship.getUser().getId());
+            return true;
+        }));
     }
 
     private SpaceShip getShipByIdAndCheckAccess(Long id) throws DataNotFoundException {
-        SpaceShip ship = spaceShipRepository.findById(id)
-                .orElseThrow(() -> new DataNotFoundException("No ship found with id %d".formatted(id)));
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        if (user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
-                || Objects.equals(user.getId(), ship.getUser().getId())) {
-            return ship;
-        } else {
-            throw new SecurityException("You don't have authority to access this ship");
-        }
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Optional<SpaceShip> ship = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                ? spaceShipRepository.findById(id)
+                : spaceShipRepository.findByIdAndUserId(id, user.getId());
+        return ship.orElseThrow(() -> spaceShipRepository.existsById(id)
+                ? new SecurityException("You don't have authority to access this ship")
+                : new DataNotFoundException("No ship found with id %d".formatted(id)));
     }
 
 }
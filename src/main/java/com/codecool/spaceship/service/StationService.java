@@ -1,112 +1,153 @@
 package com.codecool.spaceship.service;
 
-import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.auth.UserPrincipal;
 import com.codecool.spaceship.model.dto.HangarDTO;
 import com.codecool.spaceship.model.dto.SpaceStationDataDTO;
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
 import com.codecool.spaceship.model.dto.ship.NewShipDTO;
 import com.codecool.spaceship.model.dto.SpaceStationDTO;
 import com.codecool.spaceship.model.dto.SpaceStationStorageDTO;
+import com.codecool.spaceship.model.dto.StationDashboardDTO;
+import com.codecool.spaceship.model.dto.VersionedDTO;
 import com.codecool.spaceship.model.exception.DataNotFoundException;
 import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.model.exception.UpgradeNotAvailableException;
-import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.LedgerReason;
+import com.codecool.spaceship.model.resource.ResourceStorage;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.*;
+import com.codecool.spaceship.model.station.HangarManager;
 import com.codecool.spaceship.model.station.SpaceStation;
 import com.codecool.spaceship.model.station.SpaceStationManager;
 import com.codecool.spaceship.repository.SpaceShipRepository;
 import com.codecool.spaceship.repository.SpaceStationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.Objects;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class StationService {
 
     private final SpaceStationRepository spaceStationRepository;
     private final SpaceShipRepository spaceShipRepository;
-    private final ShipManagerFactory shipManagerFactory;
     private final LevelService levelService;
+    private final ResourceLedgerService resourceLedgerService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final PlayerLaneExecutor playerLaneExecutor;
+    private final MissionService missionService;
+    private final AsyncTaskExecutor taskExecutor;
 
     @Autowired
-    public StationService(SpaceStationRepository spaceStationRepository, SpaceShipRepository spaceShipRepository, ShipManagerFactory shipManagerFactory, LevelService levelService) {
+    public StationService(SpaceStationRepository spaceStationRepository, SpaceShipRepository spaceShipRepository, LevelService levelService,
+                          ResourceLedgerService resourceLedgerService, OptimisticRetryExecutor optimisticRetryExecutor, PlayerLaneExecutor playerLaneExecutor,
+                          MissionService missionService, AsyncTaskExecutor taskExecutor) {
         this.spaceStationRepository = spaceStationRepository;
         this.spaceShipRepository = spaceShipRepository;
-        this.shipManagerFactory = shipManagerFactory;
         this.levelService = levelService;
+        this.resourceLedgerService = resourceLedgerService;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.playerLaneExecutor = playerLaneExecutor;
+        this.missionService = missionService;
+        this.taskExecutor = taskExecutor;
     }
 
     public SpaceStationDTO getBaseById(long stationId) throws DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
+        SpaceStationManager stationManager = getStationManager(station);
         return stationManager.getStationDTO();
     }
 
     public SpaceStationDataDTO getBaseDataForCurrentUser() throws DataNotFoundException {
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            SpaceStation station = spaceStationRepository.getSpaceStationByUser(user)
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            SpaceStation station = spaceStationRepository.getSpaceStationByUserId(user.getId())
                     .orElseThrow(() -> new DataNotFoundException("No station found for user"));
             return new SpaceStationDataDTO(station);
     }
 
-    public boolean addResources(long stationId, Map<ResourceType, Integer> resources) throws StorageException, DataNotFoundException {
-        SpaceStation station = getStationByIdAndCheckAccess(stationId);
-
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        for (ResourceType resource : resources.keySet()) {
-            stationManager.addResource(resource, resources.get(resource));
+    public StationDashboardDTO getDashboardForCurrentUser() throws DataNotFoundException {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        CompletableFuture<List<MissionDTO>> activeMissions = CompletableFuture.supplyAsync(
+                () -> missionService.getAllActiveMissionsByUserId(user.getId()), taskExecutor);
+        SpaceStation station = spaceStationRepository.findWithHangarAndStorageByUserId(user.getId())
+                .orElseThrow(() -> new DataNotFoundException("No station found for user"));
+
+        SpaceStationManager stationManager = getStationManager(station);
+        HangarDTO hangar = stationManager.getHangarDTO();
+        SpaceStationStorageDTO storage = stationManager.getStorageDTO();
+        ResourceVector hangarUpgradeCost = hangar.fullyUpgraded() ? null : stationManager.getHangarUpgradeCost();
+        ResourceVector storageUpgradeCost = storage.fullyUpgraded() ? null : stationManager.getStorageUpgradeCost();
+        try {
+            return new StationDashboardDTO(station.getId(), station.getName(), hangar, storage,
+                    hangarUpgradeCost, storageUpgradeCost, activeMissions.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
-        spaceStationRepository.save(station);
-        return true;
     }
 
-    public long addShip(long stationId, NewShipDTO newShipDTO) throws StorageException, DataNotFoundException {
-        SpaceStation station = getStationByIdAndCheckAccess(stationId);
-
-        SpaceShip ship;
-        if (newShipDTO.type() == ShipType.MINER) {
-            ship = MinerShipManager.createNewMinerShip(levelService, newShipDTO.name(), newShipDTO.color());
-            ship.setUser(station.getUser());
-        } else if (newShipDTO.type() == ShipType.SCOUT) {
-            ship = ScoutShipManager.createNewScoutShip(levelService, newShipDTO.name(), newShipDTO.color());
-            ship.setUser(station.getUser());
-        } else {
-            throw new IllegalArgumentException("Ship type not recognized");
-        }
+    public boolean addResources(long stationId, ResourceVector resources) throws StorageException, DataNotFoundException {
+        return playerLaneExecutor.executeForOwner(stationId, spaceStationRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            getStationByIdAndCheckAccess(stationId);
 
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        stationManager.addNewShip(ship, newShipDTO.type());
+            resourceLedgerService.deposit(stationId, resources, LedgerReason.ADMIN_GRANT);
+            return true;
+        }));
+    }
 
-        ship = spaceShipRepository.save(ship);
-        return ship.getId();
+    public long addShip(long stationId, NewShipDTO newShipDTO) throws StorageException, DataNotFoundException {
+        return playerLaneExecutor.executeForOwner(stationId, spaceStationRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceStation station = getStationByIdAndCheckAccess(stationId);
+
+            SpaceShip ship;
+            if (newShipDTO.type() == ShipType.MINER) {
+                ship = MinerShipManager.createNewMinerShip(levelService, newShipDTO.name(), newShipDTO.color());
+                ship.setUser(station.getUser());
+            } else if (newShipDTO.type() == ShipType.SCOUT) {
+                ship = ScoutShipManager.createNewScoutShip(levelService, newShipDTO.name(), newShipDTO.color());
+                ship.setUser(station.getUser());
+            } else {
+                throw new IllegalArgumentException("Ship type not recognized");
+            }
+
+            ship.setStation(station);
+            SpaceStationManager stationManager = getStationManager(station);
+            stationManager.addNewShip(ship, newShipDTO.type());
+            resourceLedgerService.withdraw(stationId, newShipDTO.type().getCost(), LedgerReason.SHIP_PURCHASE);
+
+            ship = spaceShipRepository.save(ship);
+            return ship.getId();
+        }));
     }
 
-    public SpaceStationStorageDTO getStationStorage(long stationId) throws DataNotFoundException {
+    public VersionedDTO<SpaceStationStorageDTO> getStationStorage(long stationId) throws DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        return stationManager.getStorageDTO();
+        return VersionedDTO.of(() -> getStationManager(station).getStorageDTO(), "storage",
+                station.getVersion(), resourceLedgerService.getHead(station), levelService.getConfigVersion());
     }
 
-    public HangarDTO getStationHangar(long stationId) throws DataNotFoundException {
+    public VersionedDTO<HangarDTO> getStationHangar(long stationId) throws DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        return stationManager.getHangarDTO();
+        return VersionedDTO.of(() -> new SpaceStationManager(station, levelService).getHangarDTO(), "hangar",
+                station.getVersion(), HangarManager.fingerprint(station.getHangar()), levelService.getConfigVersion());
     }
 
-    public Map<ResourceType, Integer> getStoredResources(long stationId) throws DataNotFoundException {
+    public ResourceVector getStoredResources(long stationId) throws DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        return stationManager.getStoredResources();
+        return resourceLedgerService.getBalance(station);
     }
 
-    public Map<ResourceType, Integer> getStorageUpgradeCost(long stationId) throws UpgradeNotAvailableException, DataNotFoundException {
+    public ResourceVector getStorageUpgradeCost(long stationId) throws UpgradeNotAvailableException, DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
         SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
@@ -114,18 +155,20 @@ public class StationService {
     }
 
     public boolean upgradeStorage(long stationId) throws UpgradeNotAvailableException, StorageException, DataNotFoundException {
-        SpaceStation station = getStationByIdAndCheckAccess(stationId);
-
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        if (stationManager.upgradeStorage()) {
-            spaceStationRepository.save(station);
+        return playerLaneExecutor.executeForOwner(stationId, spaceStationRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceStation station = getStationByIdAndCheckAccess(stationId);
+
+            SpaceStationManager stationManager = getStationManager(station);
+            ResourceVector cost = stationManager.getStorageUpgradeCost();
+            resourceLedgerService.withdraw(stationId, cost, LedgerReason.UPGRADE);
+            if (spaceStationRepository.upgradeStorage(stationId, station.getStorageLevel()) == 0) {
+                throw new OptimisticLockingFailureException("Storage of station %d was upgraded concurrently".formatted(stationId));
+            }
             return true;
-        } else {
-            return false;
-        }
+        }));
     }
 
-    public Map<ResourceType, Integer> getHangarUpgradeCost(long stationId) throws UpgradeNotAvailableException, DataNotFoundException {
+    public ResourceVector getHangarUpgradeCost(long stationId) throws UpgradeNotAvailableException, DataNotFoundException {
         SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
         SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
@@ -133,42 +176,64 @@ public class StationService {
     }
 
     public boolean upgradeHangar(long stationId) throws UpgradeNotAvailableException, StorageException, DataNotFoundException {
-        SpaceStation station = getStationByIdAndCheckAccess(stationId);
-
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        if (stationManager.upgradeHangar()) {
-            spaceStationRepository.save(station);
+        return playerLaneExecutor.executeForOwner(stationId, spaceStationRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            SpaceStation station = getStationByIdAndCheckAccess(stationId);
+
+            SpaceStationManager stationManager = getStationManager(station);
+            ResourceVector cost = stationManager.getHangarUpgradeCost();
+            resourceLedgerService.withdraw(stationId, cost, LedgerReason.UPGRADE);
+            if (spaceStationRepository.upgradeHangar(stationId, station.getHangarLevel()) == 0) {
+                throw new OptimisticLockingFailureException("Hangar of station %d was upgraded concurrently".formatted(stationId));
+            }
             return true;
-        } else {
-            return false;
+        }));
+    }
+    public boolean moveResourceFromShipToStation(long stationId, long shipId, ResourceVector resources) throws DataNotFoundException, StorageException {
+        if (resources.hasNegative()) {
+            throw new StorageException("Can't move negative resources.");
         }
+        return playerLaneExecutor.executeForOwner(stationId, spaceStationRepository::getUserIdById, () -> optimisticRetryExecutor.execute(() -> {
+            // ship row before ledger, the same order as ship upgrades
+            if (spaceShipRepository.unloadCargo(shipId, stationId, getUserIdUnlessAdmin(), resources) == 0) {
+                checkShipCanUnload(stationId, shipId);
+                return false;
+            }
+            // a full storage throws here, which rolls back the cargo update above
+            resourceLedgerService.deposit(stationId, resources, LedgerReason.TRANSFER);
+            return true;
+        }));
     }
-    public boolean moveResourceFromShipToStation(long stationId, long shipId, Map<ResourceType, Integer> resources) throws DataNotFoundException, StorageException {
-        SpaceStation station = getStationByIdAndCheckAccess(stationId);
 
+    // only reached when the conditional unload matched no row, to report why
+    private void checkShipCanUnload(long stationId, long shipId) throws DataNotFoundException, StorageException {
+        SpaceStation station = getStationByIdAndCheckAccess(stationId);
         SpaceShip ship = station.getHangar().stream().filter(s -> s.getId() == shipId).findFirst()
                 .orElseThrow(() -> new StorageException("No such ship on this station"));
-
-        SpaceStationManager stationManager = new SpaceStationManager(station, levelService);
-        SpaceShipManager spaceShipManager = shipManagerFactory.getSpaceShipManager(ship);
-        if (stationManager.addResourcesFromShip((MinerShipManager) spaceShipManager, resources)) {
-            spaceStationRepository.save(station);
-            return true;
+        if (!(ship instanceof MinerShip)) {
+            throw new StorageException("Ship has no storage");
         }
-        return false;
+        if (ship.getCurrentMission() != null) {
+            throw new StorageException("Ship is on a mission");
+        }
+    }
+
+    private SpaceStationManager getStationManager(SpaceStation station) {
+        return new SpaceStationManager(station, levelService, new ResourceStorage(resourceLedgerService.getBalance(station)));
+    }
+
+    private Long getUserIdUnlessAdmin() {
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")) ? null : user.getId();
     }
 
     private SpaceStation getStationByIdAndCheckAccess(long stationId) throws DataNotFoundException {
-        SpaceStation station = spaceStationRepository.findById(stationId)
-                .orElseThrow(() -> new DataNotFoundException("No station found with id %d".formatted(stationId)));
-        UserEntity user = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-        if (user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
-                || Objects.equals(user.getId(), station.getUser().getId())) {
-            return station;
-        } else {
-            throw new SecurityException("You don't have authority to access this station");
-        }
+        UserPrincipal user = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Optional<SpaceStation> station = user.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                ? spaceStationRepository.findById(stationId)
+                : spaceStationRepository.findByIdAndUserId(stationId, user.getId());
+        return station.orElseThrow(() -> spaceStationRepository.existsById(stationId)
+                ? new SecurityException("You don't have authority to access this station")
+                : new DataNotFoundException("No station found with id %d".formatted(stationId)));
     }
 
 }
@@ -0,0 +1,52 @@
+-- Moves station and miner ship storage from the *_storage_mapping tables into columns on the owning row.
+-- stored_resources_key holds the ResourceType ordinal: 0 PLUTONIUM, 1 CRYSTAL, 2 SILICONE, 3 METAL.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE spacestation
+    ADD COLUMN IF NOT EXISTS plutonium integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS crystal integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS silicone integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS metal integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS resource_total integer NOT NULL DEFAULT 0;
+
+ALTER TABLE spaceship
+    ADD COLUMN IF NOT EXISTS plutonium integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS crystal integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS silicone integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS metal integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS resource_total integer NOT NULL DEFAULT 0;
+
+UPDATE spacestation s
+SET plutonium      = coalesce(m.plutonium, 0),
+    crystal        = coalesce(m.crystal, 0),
+    silicone       = coalesce(m.silicone, 0),
+    metal          = coalesce(m.metal, 0),
+    resource_total = coalesce(m.total, 0)
+FROM (SELECT station_id,
+             sum(amount) FILTER (WHERE stored_resources_key = 0) AS plutonium,
+             sum(amount) FILTER (WHERE stored_resources_key = 1) AS crystal,
+             sum(amount) FILTER (WHERE stored_resources_key = 2) AS silicone,
+             sum(amount) FILTER (WHERE stored_resources_key = 3) AS metal,
+             sum(amount)                                         AS total
+      FROM station_storage_mapping
+      GROUP BY station_id) m
+WHERE s.id = m.station_id;
+
+UPDATE spaceship s
+SET plutonium      = coalesce(m.plutonium, 0),
+    crystal        = coalesce(m.crystal, 0),
+    silicone       = coalesce(m.silicone, 0),
+    metal          = coalesce(m.metal, 0),
+    resource_total = coalesce(m.total, 0)
+FROM (SELECT ship_id,
+             sum(amount) FILTER (WHERE stored_resources_key = 0) AS plutonium,
+             sum(amount) FILTER (WHERE stored_resources_key = 1) AS crystal,
+             sum(amount) FILTER (WHERE stored_resources_key = 2) AS silicone,
+             sum(amount) FILTER (WHERE stored_resources_key = 3) AS metal,
+             sum(amount)                                         AS total
+      FROM minership_storage_mapping
+      GROUP BY ship_id) m
+WHERE s.id = m.ship_id;
+
+DROP TABLE station_storage_mapping;
+DROP TABLE minership_storage_mapping;
@@ -0,0 +1,61 @@
+-- Replaces the English sentences in mission.events with their EventMessage template and parameters.
+-- Fails on any sentence no version of the mission managers wrote, leaving the log untouched.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+CREATE FUNCTION pg_temp.to_template(event jsonb) RETURNS jsonb AS
+$$
+DECLARE
+    message  text  := event ->> 'eventMessage';
+    rest     jsonb := event - 'eventMessage';
+    m        text[];
+    template text;
+BEGIN
+    IF message IS NULL THEN
+        RETURN rest;
+    END IF;
+    m := regexp_match(message, '^Left station for mining mission on (.*)\.$');
+    IF m IS NOT NULL THEN
+        RETURN rest || jsonb_build_object('eventMessage', 'MINING_STARTED', 'locationName', m[1]);
+    END IF;
+    m := regexp_match(message, '^Arrived on (.*)\. Starting mining operation\.$');
+    IF m IS NOT NULL THEN
+        RETURN rest || jsonb_build_object('eventMessage', 'MINING_ARRIVED', 'locationName', m[1]);
+    END IF;
+    m := regexp_match(message, '^(Mining complete|Planet depleted|Storage is full|Mission aborted by Command)\. Mined (\d+) (\w+)\(s\)\. Returning to station\.$');
+    IF m IS NOT NULL THEN
+        RETURN rest || jsonb_build_object(
+                'eventMessage', CASE m[1]
+                                    WHEN 'Mining complete' THEN 'MINING_COMPLETE'
+                                    WHEN 'Planet depleted' THEN 'PLANET_DEPLETED'
+                                    WHEN 'Storage is full' THEN 'STORAGE_FULL'
+                                    ELSE 'MINING_ABORTED' END,
+                'amount', m[2]::integer,
+                'resourceType', m[3]);
+    END IF;
+    m := regexp_match(message, '^Left station to discover new planet with (\w+)\.$');
+    IF m IS NOT NULL THEN
+        RETURN rest || jsonb_build_object('eventMessage', 'SCOUTING_STARTED', 'resourceType', m[1]);
+    END IF;
+    m := regexp_match(message, '^Returned to station\.\nScan data decoded, discovered new planet: (.*)$');
+    IF m IS NOT NULL THEN
+        RETURN rest || jsonb_build_object('eventMessage', 'PLANET_DISCOVERED', 'locationName', m[1]);
+    END IF;
+    template := CASE message
+        WHEN 'Reached target distance. Starting scan.' THEN 'SCAN_STARTED'
+        WHEN 'Finished scanning. Returning to station.' THEN 'SCAN_FINISHED'
+        WHEN 'Mission aborted by Command. Shutting down scan. Returning to station.' THEN 'SCAN_ABORTED'
+        WHEN E'Returned to station.\nNo new planet discovered.' THEN 'NO_PLANET_DISCOVERED'
+        WHEN 'Mission aborted by Command. Returning to station.' THEN 'ABORTED'
+        WHEN 'Returned to station.' THEN 'RETURNED'
+        END;
+    IF template IS NULL THEN
+        RAISE EXCEPTION 'Unknown event message: %', message;
+    END IF;
+    RETURN rest || jsonb_build_object('eventMessage', template);
+END
+$$ LANGUAGE plpgsql;
+
+UPDATE mission
+SET events = (SELECT jsonb_agg(pg_temp.to_template(event) ORDER BY position)
+              FROM jsonb_array_elements(events::jsonb) WITH ORDINALITY AS e(event, position))::text
+WHERE events IS NOT NULL;
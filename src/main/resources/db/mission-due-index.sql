@@ -0,0 +1,4 @@
+-- Adds the index the overdue-mission sweep pages through.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+CREATE INDEX IF NOT EXISTS idx_mission_objective_time_id_status ON mission (current_objective_time, id, current_status);
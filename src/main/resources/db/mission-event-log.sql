@@ -0,0 +1,21 @@
+-- Moves each mission's rows from the event table into a JSON array in mission.events, oldest first.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE mission
+    ADD COLUMN IF NOT EXISTS events text;
+
+UPDATE mission mi
+SET events = e.events
+FROM (SELECT mission_id,
+             jsonb_agg(jsonb_build_object(
+                     'endTime', to_char(end_time, 'YYYY-MM-DD"T"HH24:MI:SS.US'),
+                     'eventType', (ARRAY ['START', 'ARRIVAL_AT_LOCATION', 'RETURNED_TO_STATION', 'ACTIVITY_COMPLETE',
+                         'PIRATE_ATTACK', 'METEOR_STORM', 'ABORT'])[event_type + 1],
+                     'eventMessage', event_message) ORDER BY id)::text AS events
+      FROM event
+      WHERE mission_id IS NOT NULL
+      GROUP BY mission_id) e
+WHERE mi.id = e.mission_id;
+
+DROP TABLE event;
+DROP SEQUENCE IF EXISTS event_seq;
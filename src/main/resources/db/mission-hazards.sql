@@ -0,0 +1,5 @@
+-- Adds the pre-planned hazard schedule. Missions started before this have none and travel without hazards.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE mission
+    ADD COLUMN IF NOT EXISTS hazards text;
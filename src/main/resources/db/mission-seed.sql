@@ -0,0 +1,5 @@
+-- Adds the per-mission random seed. Missions started before this keep seed 0, which is still deterministic.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE mission
+    ADD COLUMN IF NOT EXISTS seed bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Adds the optimistic lock versions. Existing rows start at version 0.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE location
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE mission
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE spaceship
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE spacestation
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
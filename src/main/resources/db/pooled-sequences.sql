@@ -0,0 +1,35 @@
+-- Replaces the serial id columns with the pooled <table>_seq sequences Hibernate allocates from in blocks of 50.
+-- Each sequence starts one block past the highest existing id.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+CREATE SEQUENCE IF NOT EXISTS _user_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS event_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS level_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS location_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS mission_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS spaceship_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS spacestation_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('_user_seq', coalesce(max(id), 0) + 50, false) FROM _user;
+SELECT setval('event_seq', coalesce(max(id), 0) + 50, false) FROM event;
+SELECT setval('level_seq', coalesce(max(id), 0) + 50, false) FROM level;
+SELECT setval('location_seq', coalesce(max(id), 0) + 50, false) FROM location;
+SELECT setval('mission_seq', coalesce(max(id), 0) + 50, false) FROM mission;
+SELECT setval('spaceship_seq', coalesce(max(id), 0) + 50, false) FROM spaceship;
+SELECT setval('spacestation_seq', coalesce(max(id), 0) + 50, false) FROM spacestation;
+
+ALTER TABLE _user ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE event ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE level ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE location ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE mission ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE spaceship ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE spacestation ALTER COLUMN id DROP DEFAULT;
+
+DROP SEQUENCE IF EXISTS _user_id_seq;
+DROP SEQUENCE IF EXISTS event_id_seq;
+DROP SEQUENCE IF EXISTS level_id_seq;
+DROP SEQUENCE IF EXISTS location_id_seq;
+DROP SEQUENCE IF EXISTS mission_id_seq;
+DROP SEQUENCE IF EXISTS spaceship_id_seq;
+DROP SEQUENCE IF EXISTS spacestation_id_seq;
@@ -0,0 +1,23 @@
+-- Adds the resource ledger and the station snapshot watermark.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE spacestation
+    ADD COLUMN IF NOT EXISTS ledger_watermark bigint NOT NULL DEFAULT 0;
+
+CREATE SEQUENCE IF NOT EXISTS resource_ledger_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS resource_ledger
+(
+    id             bigint  NOT NULL PRIMARY KEY,
+    station_id     bigint  NOT NULL,
+    seq            bigint  NOT NULL,
+    plutonium      integer NOT NULL DEFAULT 0,
+    crystal        integer NOT NULL DEFAULT 0,
+    silicone       integer NOT NULL DEFAULT 0,
+    metal          integer NOT NULL DEFAULT 0,
+    resource_total integer NOT NULL DEFAULT 0,
+    reason         varchar(255),
+    created_at     timestamp(6)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS resource_ledger_station_idx ON resource_ledger (station_id, seq);
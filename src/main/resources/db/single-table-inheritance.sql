@@ -0,0 +1,59 @@
+-- Folds miner_ship/scout_ship into spaceship and mining_mission/scouting_mission into mission.
+-- Only needed for databases that outlive a restart (ddl-auto other than create-drop); run once before deploying.
+
+ALTER TABLE spaceship
+    ADD COLUMN IF NOT EXISTS ship_type varchar(31),
+    ADD COLUMN IF NOT EXISTS drill_level integer,
+    ADD COLUMN IF NOT EXISTS storage_level integer,
+    ADD COLUMN IF NOT EXISTS scanner_level integer;
+
+UPDATE spaceship s
+SET ship_type     = 'MINER',
+    drill_level   = m.drill_level,
+    storage_level = m.storage_level
+FROM miner_ship m
+WHERE s.id = m.id;
+
+UPDATE spaceship s
+SET ship_type     = 'SCOUT',
+    scanner_level = m.scanner_level
+FROM scout_ship m
+WHERE s.id = m.id;
+
+ALTER TABLE spaceship
+    ALTER COLUMN ship_type SET NOT NULL;
+
+ALTER TABLE mission
+    ADD COLUMN IF NOT EXISTS mission_type varchar(31),
+    ADD COLUMN IF NOT EXISTS location_id bigint REFERENCES location (id),
+    ADD COLUMN IF NOT EXISTS discovered_location_id bigint REFERENCES location (id),
+    ADD COLUMN IF NOT EXISTS distance integer,
+    ADD COLUMN IF NOT EXISTS prioritizing_distance boolean,
+    ADD COLUMN IF NOT EXISTS target_resource varchar(255);
+
+UPDATE mission mi
+SET mission_type = 'MINING',
+    location_id  = m.location_id
+FROM mining_mission m
+WHERE mi.id = m.id;
+
+UPDATE mission mi
+SET mission_type           = 'SCOUTING',
+    discovered_location_id = m.discovered_location_id,
+    distance               = m.distance,
+    prioritizing_distance  = m.prioritizing_distance,
+    target_resource        = m.target_resource
+FROM scouting_mission m
+WHERE mi.id = m.id;
+
+ALTER TABLE mission
+    ALTER COLUMN mission_type SET NOT NULL;
+
+-- minership_storage_mapping keeps its rows; only its foreign key moves from miner_ship to spaceship
+DROP TABLE miner_ship CASCADE;
+DROP TABLE scout_ship;
+DROP TABLE mining_mission;
+DROP TABLE scouting_mission;
+
+ALTER TABLE minership_storage_mapping
+    ADD FOREIGN KEY (ship_id) REFERENCES spaceship (id);
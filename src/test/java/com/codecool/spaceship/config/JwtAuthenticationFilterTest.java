@@ -0,0 +1,75 @@
+package com.codecool.spaceship.config;
+
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.UserEntity;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthenticationFilterTest {
+
+    JwtService jwtService = new JwtService();
+    JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+    UserEntity user = UserEntity.builder().id(1L).username("user").role(Role.USER).build();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesRequest() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(requestWithJwt(jwtService.generateToken(user)), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(1L, ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId());
+    }
+
+    @Test
+    void expiredTokenLeavesRequestAnonymous() throws Exception {
+        String expired = Jwts.builder()
+                .setSubject("user")
+                .claim("userId", 1L)
+                .claim("role", Role.USER)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode("thisisadefaultsecretkeythatnoonecancracksodonteventry")), SignatureAlgorithm.HS256)
+                .compact();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(requestWithJwt(expired), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void tamperedTokenLeavesRequestAnonymous() throws Exception {
+        String token = jwtService.generateToken(user);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(requestWithJwt(token.substring(0, token.length() - 2)), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest requestWithJwt(String jwt) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("jwt", jwt));
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package com.codecool.spaceship.config;
+
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.station.SpaceStation;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    JwtService jwtService = new JwtService();
+    UserEntity user = UserEntity.builder().id(1L).username("user").role(Role.USER).build();
+
+    @BeforeEach
+    void setUp() {
+        SpaceStation station = new SpaceStation();
+        station.setId(5L);
+        user.setSpaceStation(station);
+    }
+
+    @Test
+    void extractAllClaimsReturnsGeneratedClaims() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+        assertEquals("user", claims.getSubject());
+        assertEquals(1, claims.get("userId", Integer.class));
+    }
+
+    @Test
+    void extractPrincipalReadsClaims() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+        UserPrincipal principal = jwtService.extractPrincipal(claims);
+
+        assertTrue(jwtService.isTokenValid(claims));
+        assertEquals(1L, principal.getId());
+        assertEquals("user", principal.getUsername());
+        assertEquals(Role.USER, principal.getRole());
+        assertEquals(5L, principal.getStationId());
+    }
+
+    @Test
+    void extractAllClaimsRejectsTamperedToken() {
+        String token = jwtService.generateToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(token.substring(0, token.length() - 2)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.codecool.spaceship.config;
+
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.UserEntity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenPathBenchmark {
+
+    private static final String SECRET_KEY = "thisisadefaultsecretkeythatnoonecancracksodonteventry";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken(UserEntity.builder().id(1L).username("user").role(Role.USER).build());
+    }
+
+    // what the filter did before: a fresh key and parser per lookup, and three parses of the same token
+    @Benchmark
+    public boolean perCallParsing() {
+        String username = parse(token).getSubject();
+        return username.equals(parse(token).getSubject()) && !parse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public UserPrincipal cachedParser() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims) ? jwtService.extractPrincipal(claims) : null;
+    }
+
+    private static Claims parse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,60 @@
+package com.codecool.spaceship.controller;
+
+import com.codecool.spaceship.model.dto.VersionedDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionalResponsesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    AtomicInteger bodyBuilds = new AtomicInteger();
+    VersionedDTO<String> resource = VersionedDTO.of(() -> "body" + bodyBuilds.incrementAndGet(), NOW.plusSeconds(90), "mission", 3L, 1L);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/mission/1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void firstRequestGetsBodyETagAndMaxAge() {
+        ResponseEntity<String> entity = ConditionalResponses.of(resource, new ServletWebRequest(request, response), clock);
+
+        assertEquals("body1", entity.getBody());
+        assertEquals("\"mission-3-1\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=90, private", entity.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void matchingIfNoneMatchSkipsBody() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"mission-3-1\"");
+
+        ResponseEntity<String> entity = ConditionalResponses.of(resource, new ServletWebRequest(request, response), clock);
+
+        assertNull(entity);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, bodyBuilds.get());
+        assertEquals("max-age=90, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void resourceWithoutPendingTransitionIsRevalidated() {
+        VersionedDTO<String> storage = VersionedDTO.of(() -> "storage", "storage", 4L);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"storage-3\"");
+
+        ResponseEntity<String> entity = ConditionalResponses.of(storage, new ServletWebRequest(request, response), clock);
+
+        assertEquals("storage", entity.getBody());
+        assertEquals("no-cache, private", entity.getHeaders().getCacheControl());
+    }
+}
@@ -4,12 +4,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LocationDataGeneratorTest {
 
+    private static final long SEED = 20230501L;
 
     @Test
     void PlanetFoundTestLowLevel() {
@@ -17,7 +19,7 @@ class LocationDataGeneratorTest {
         double activityHours = 2;
         int distance = 10;
         List<Boolean> results = new ArrayList<>();
-        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new Random());
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
         for (int i = 0; i < 1000; i++) {
             results.add(locationDataGenerator.determinePlanetFound(scannerEfficiency, activityHours, distance));
         }
@@ -32,7 +34,7 @@ class LocationDataGeneratorTest {
         double activityHours = 2;
         boolean prioritize = true;
         List<Integer> results = new ArrayList<>();
-        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new Random());
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
         for (int i = 0; i < 1000; i++) {
             results.add(locationDataGenerator.determineResourceReserves(scannerEfficiency, activityHours, prioritize));
         }
@@ -52,7 +54,7 @@ class LocationDataGeneratorTest {
         int scannerEfficiency = 25;
         double activityHours = 2;
         boolean prioritize = true;
-        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new Random());
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
         List<Integer> results = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
             results.add(locationDataGenerator.determineResourceReserves(scannerEfficiency, activityHours, prioritize));
@@ -74,7 +76,7 @@ class LocationDataGeneratorTest {
         int distance = 15;
         boolean prioritize = true;
         List<Integer> results = new ArrayList<>();
-        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new Random());
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
         for (int i = 0; i < 1000; i++) {
             results.add(locationDataGenerator.determineDistance(scannerEfficiency, distance, prioritize));
         }
@@ -94,7 +96,7 @@ class LocationDataGeneratorTest {
         int distance = 15;
         boolean prioritize = true;
         List<Integer> results = new ArrayList<>();
-        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new Random());
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
         for (int i = 0; i < 1000; i++) {
             results.add(locationDataGenerator.determineDistance(scannerEfficiency, distance, prioritize));
         }
@@ -107,4 +109,20 @@ class LocationDataGeneratorTest {
         assertTrue(5 < average && average < 10);
     }
 
-}
\ No newline at end of file
+    @Test
+    void PlanetFoundProbabilityMatchesDraws() {
+        int scannerEfficiency = 1;
+        double activityHours = 2;
+        int distance = 10;
+        LocationDataGenerator locationDataGenerator = new LocationDataGenerator(new SplittableRandom(SEED));
+        long found = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (locationDataGenerator.determinePlanetFound(scannerEfficiency, activityHours, distance)) {
+                found++;
+            }
+        }
+        double probability = LocationDataGenerator.planetFoundProbability(scannerEfficiency, activityHours, distance);
+        assertEquals(0.75, probability, 1e-9);
+        assertEquals(probability, found / 10000.0, 0.02);
+    }
+}
@@ -0,0 +1,58 @@
+package com.codecool.spaceship.model.mission;
+
+import com.codecool.spaceship.model.dto.mission.EventDTO;
+import com.codecool.spaceship.model.resource.ResourceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventMessageTest {
+
+    @Test
+    void renderAmountAndResource() {
+        Event event = Event.builder()
+                .eventMessage(EventMessage.MINING_COMPLETE)
+                .amount(8)
+                .resourceType(ResourceType.CRYSTAL)
+                .build();
+
+        assertEquals("Mining complete. Mined 8 CRYSTAL(s). Returning to station.", EventMessage.MINING_COMPLETE.render(event));
+    }
+
+    @Test
+    void renderLocation() {
+        Event event = Event.builder()
+                .eventMessage(EventMessage.PLANET_DISCOVERED)
+                .locationName("Test Planet")
+                .build();
+
+        assertEquals("Returned to station.\nScan data decoded, discovered new planet: Test Planet", EventMessage.PLANET_DISCOVERED.render(event));
+    }
+
+    @Test
+    void renderReusesStringForSameArguments() {
+        Event first = Event.builder().eventMessage(EventMessage.METEOR_STORM).amount(12).build();
+        Event same = Event.builder().eventMessage(EventMessage.METEOR_STORM).amount(12).build();
+        Event other = Event.builder().eventMessage(EventMessage.PIRATE_ATTACK).amount(12).build();
+
+        assertSame(EventMessage.METEOR_STORM.render(first), EventMessage.METEOR_STORM.render(same));
+        assertEquals("Attacked by pirates. Shield absorbed 12 damage.", EventMessage.PIRATE_ATTACK.render(other));
+    }
+
+    @Test
+    void eventDTORendersMessage() {
+        LocalDateTime time = LocalDateTime.of(2023, 5, 1, 12, 0);
+        Event event = Event.builder()
+                .endTime(time)
+                .eventMessage(EventMessage.SCOUTING_STARTED)
+                .resourceType(ResourceType.METAL)
+                .build();
+        EventDTO eventDTO = new EventDTO(event);
+
+        assertEquals(time, eventDTO.time());
+        assertEquals("Left station to discover new planet with METAL.", eventDTO.message());
+    }
+}
@@ -4,6 +4,7 @@ import com.codecool.spaceship.model.location.Location;
 import com.codecool.spaceship.model.exception.IllegalOperationException;
 import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.ship.MinerShip;
 import com.codecool.spaceship.model.ship.MinerShipManager;
 import org.junit.jupiter.api.Test;
@@ -16,10 +17,14 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -158,7 +163,8 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ARRIVAL_AT_LOCATION)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Arrived on Test Planet. Starting mining operation.")
+                .eventMessage(EventMessage.MINING_ARRIVED)
+                .locationName("Test Planet")
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -211,7 +217,8 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ARRIVAL_AT_LOCATION)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Arrived on Test Planet. Starting mining operation.")
+                .eventMessage(EventMessage.MINING_ARRIVED)
+                .locationName("Test Planet")
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -267,7 +274,8 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ARRIVAL_AT_LOCATION)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Arrived on Test Planet. Starting mining operation.")
+                .eventMessage(EventMessage.MINING_ARRIVED)
+                .locationName("Test Planet")
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -325,7 +333,9 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ACTIVITY_COMPLETE)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Storage is full. Mined 8 CRYSTAL(s). Returning to station.")
+                .eventMessage(EventMessage.STORAGE_FULL)
+                .amount(8)
+                .resourceType(ResourceType.CRYSTAL)
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -380,7 +390,9 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ACTIVITY_COMPLETE)
                 .endTime(now.minusSeconds(4))
-                .eventMessage("Mining complete. Mined 2 CRYSTAL(s). Returning to station.")
+                .eventMessage(EventMessage.MINING_COMPLETE)
+                .amount(2)
+                .resourceType(ResourceType.CRYSTAL)
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -440,7 +452,9 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.ACTIVITY_COMPLETE)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Planet depleted. Mined 5 CRYSTAL(s). Returning to station.")
+                .eventMessage(EventMessage.PLANET_DEPLETED)
+                .amount(5)
+                .resourceType(ResourceType.CRYSTAL)
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
@@ -491,7 +505,7 @@ class MiningMissionManagerTest {
         Event expectedEvent = Event.builder()
                 .eventType(EventType.RETURNED_TO_STATION)
                 .endTime(now.minusSeconds(5))
-                .eventMessage("Returned to station.")
+                .eventMessage(EventMessage.RETURNED)
                 .build();
         expected.getEvents().add(expectedEvent);
 
@@ -540,25 +554,29 @@ class MiningMissionManagerTest {
         Event expectedEvent1 = Event.builder()
                 .eventType(EventType.START)
                 .endTime(now.minusSeconds(20000L))
-                .eventMessage("Left station for mining mission on Test planet.")
+                .eventMessage(EventMessage.MINING_STARTED)
+                .locationName("Test planet")
                 .build();
         expected.getEvents().add(expectedEvent1);
         Event expectedEvent2 = Event.builder()
                 .eventType(EventType.ARRIVAL_AT_LOCATION)
                 .endTime(now.minusSeconds(14600L))
-                .eventMessage("Arrived on Test Planet. Starting mining operation.")
+                .eventMessage(EventMessage.MINING_ARRIVED)
+                .locationName("Test Planet")
                 .build();
         expected.getEvents().add(expectedEvent2);
         Event expectedEvent3 = Event.builder()
                 .eventType(EventType.ACTIVITY_COMPLETE)
                 .endTime(now.minusSeconds(8300L))
-                .eventMessage("Mining complete. Mined 8 CRYSTAL(s). Returning to station.")
+                .eventMessage(EventMessage.MINING_COMPLETE)
+                .amount(8)
+                .resourceType(ResourceType.CRYSTAL)
                 .build();
         expected.getEvents().add(expectedEvent3);
         Event expectedEvent4 = Event.builder()
                 .eventType(EventType.RETURNED_TO_STATION)
                 .endTime(now.minusSeconds(2900L))
-                .eventMessage("Returned to station.")
+                .eventMessage(EventMessage.RETURNED)
                 .build();
         expected.getEvents().add(expectedEvent4);
 
@@ -576,7 +594,8 @@ class MiningMissionManagerTest {
         Event actualEvent = Event.builder()
                 .eventType(EventType.START)
                 .endTime(now.minusSeconds(20000L))
-                .eventMessage("Left station for mining mission on Test planet.")
+                .eventMessage(EventMessage.MINING_STARTED)
+                .locationName("Test planet")
                 .build();
         actual.getEvents().add(actualEvent);
 
@@ -588,4 +607,50 @@ class MiningMissionManagerTest {
         assertEquals(expected, actual);
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateStatusPirateRaidAfterShieldFails() {
+        Clock clock = Clock.fixed(Instant.parse("2022-08-15T09:00:00.00Z"), ZoneId.of("UTC"));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        when(minerShipManagerMock.getShip()).thenReturn(minerShipMock);
+        when(minerShipManagerMock.getShieldEnergy()).thenReturn(15, 0);
+        when(minerShipManagerMock.getStorageContents()).thenReturn(ResourceVector.of(Map.of(ResourceType.METAL, 10, ResourceType.CRYSTAL, 5)));
+
+        MiningMission actual = MiningMission.builder()
+                .currentStatus(MissionStatus.RETURNING)
+                .currentObjectiveTime(now.plusSeconds(600))
+                .ship(minerShipMock)
+                .location(locationMock)
+                .events(new ArrayList<>())
+                .hazards(List.of(new Hazard(EventType.PIRATE_ATTACK, MissionStatus.RETURNING, 500, 30, 50)))
+                .build();
+        actual.getEvents().add(Event.builder()
+                .eventType(EventType.PIRATE_ATTACK)
+                .endTime(now.minusSeconds(5))
+                .build());
+
+        MissionManager missionManager = new MiningMissionManager(actual, clock, randomMock, minerShipManagerMock);
+        missionManager.updateStatus();
+
+        verify(minerShipManagerMock).damageShield(30);
+        verify(minerShipManagerMock).removeResourcesFromStorage(ResourceVector.of(Map.of(ResourceType.METAL, 5, ResourceType.CRYSTAL, 2)));
+        Event raid = actual.getEvents().get(0);
+        assertEquals(EventMessage.PIRATE_RAID, raid.getEventMessage());
+        assertEquals(7, raid.getAmount());
+        Event returned = actual.getEvents().get(1);
+        assertEquals(EventType.RETURNED_TO_STATION, returned.getEventType());
+        assertEquals(now.plusSeconds(600), returned.getEndTime());
+        assertEquals(returned.getEndTime(), actual.getNextTransitionTime());
+    }
+
+    @Test
+    void planHazardsIsReproducibleFromSeed() {
+        for (long seed = 0; seed < 50; seed++) {
+            List<Hazard> hazards = MissionManager.planHazards(new SplittableRandom(seed), 1);
+
+            assertEquals(hazards, MissionManager.planHazards(new SplittableRandom(seed), 1));
+            assertTrue(hazards.size() <= 2);
+            hazards.forEach(hazard -> assertTrue(hazard.getProgress() >= 100 && hazard.getProgress() < 900));
+        }
+    }
+}
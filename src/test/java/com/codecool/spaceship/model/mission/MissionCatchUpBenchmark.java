@@ -0,0 +1,73 @@
+package com.codecool.spaceship.model.mission;
+
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.exception.IllegalOperationException;
+import com.codecool.spaceship.model.location.Location;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.ship.MinerShipManager;
+import com.codecool.spaceship.model.ship.shipparts.Color;
+import com.codecool.spaceship.repository.LevelRepository;
+import com.codecool.spaceship.service.LevelService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MissionCatchUpBenchmark {
+
+    private static final Instant START = Instant.parse("2022-08-15T09:00:00Z");
+    // end times of the six transitions of a mining mission with a hazard halfway through both legs
+    private static final long[] TRANSITION_SECS = {0, 1800, 3600, 5400, 7200, 9000};
+
+    // 0 only builds the mission, so the other rows minus it are the cost of catching up
+    @Param({"0", "1", "3", "6"})
+    public int transitionsBehind;
+
+    private LevelService levelService;
+    private Clock now;
+
+    @Setup
+    public void setUp() {
+        LevelRepository levelRepository = mock(LevelRepository.class);
+        when(levelRepository.getAllLevelsWithCost()).thenReturn(Arrays.stream(UpgradeableType.values())
+                .map(type -> Level.builder().type(type).level(1).effect(10).max(true).cost(Map.of()).build())
+                .toList());
+        levelService = new LevelService(levelRepository);
+        long secs = transitionsBehind == 0 ? -1 : TRANSITION_SECS[transitionsBehind - 1];
+        now = Clock.fixed(START.plusSeconds(secs), ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public MiningMission catchUp() throws IllegalOperationException {
+        MinerShip ship = MinerShipManager.createNewMinerShip(levelService, "Benchmark", Color.EMERALD);
+        MinerShipManager shipManager = new MinerShipManager(levelService, ship);
+        Location location = Location.builder()
+                .name("Benchmark")
+                .distanceFromStation(10)
+                .resourceType(ResourceType.METAL)
+                .resourceReserve(1000)
+                .build();
+        MiningMission mission = MiningMissionManager.startMiningMission(shipManager, location, 1800, Clock.fixed(START, ZoneOffset.UTC));
+        mission.setHazards(List.of(new Hazard(EventType.METEOR_STORM, MissionStatus.EN_ROUTE, 500, 5, 0),
+                new Hazard(EventType.METEOR_STORM, MissionStatus.RETURNING, 500, 5, 0)));
+        new MiningMissionManager(mission, now, new SplittableRandom(1), shipManager).updateStatus();
+        return mission;
+    }
+}
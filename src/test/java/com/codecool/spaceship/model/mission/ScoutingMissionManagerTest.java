@@ -16,6 +16,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -143,4 +144,32 @@ class ScoutingMissionManagerTest {
         Location actual = mission.getDiscoveredLocation();
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void pirateAttackWithNoCargoIsNotReportedAsRaid() {
+        Clock clock = Clock.fixed(Instant.parse("2022-08-15T09:00:00.00Z"), ZoneId.of("UTC"));
+        LocalDateTime now = LocalDateTime.now(clock);
+        when(scoutShipManagerMock.getShip()).thenReturn(scoutShipMock);
+        when(scoutShipManagerMock.getShieldEnergy()).thenReturn(15, 0);
+
+        ScoutingMission mission = ScoutingMission.builder()
+                .ship(scoutShipMock)
+                .currentStatus(MissionStatus.RETURNING)
+                .currentObjectiveTime(now.plusSeconds(600))
+                .events(new ArrayList<>())
+                .hazards(List.of(new Hazard(EventType.PIRATE_ATTACK, MissionStatus.RETURNING, 500, 30, 50)))
+                .build();
+        mission.getEvents().add(Event.builder()
+                .eventType(EventType.PIRATE_ATTACK)
+                .endTime(now.minusSeconds(5))
+                .build());
+
+        ScoutingMissionManager missionManager = new ScoutingMissionManager(mission, clock, new Random(), scoutShipManagerMock);
+        missionManager.updateStatus();
+
+        verify(scoutShipManagerMock).damageShield(30);
+        Event attack = mission.getEvents().get(0);
+        assertEquals(EventMessage.PIRATE_ATTACK, attack.getEventMessage());
+        assertEquals(15, attack.getAmount());
+    }
+}
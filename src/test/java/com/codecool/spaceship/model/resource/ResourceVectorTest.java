@@ -0,0 +1,47 @@
+package com.codecool.spaceship.model.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVectorTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void arithmeticLeavesOperandsUntouched() {
+        ResourceVector stored = ResourceVector.of(Map.of(ResourceType.METAL, 50, ResourceType.CRYSTAL, 20));
+        ResourceVector cost = ResourceVector.of(ResourceType.METAL, 30);
+
+        ResourceVector remaining = stored.minus(cost);
+
+        assertEquals(20, remaining.get(ResourceType.METAL));
+        assertEquals(50, stored.get(ResourceType.METAL));
+        assertEquals(40, remaining.total());
+        assertEquals(stored, remaining.plus(cost));
+    }
+
+    @Test
+    void coversComparesEveryResource() {
+        ResourceVector stored = ResourceVector.of(Map.of(ResourceType.METAL, 50, ResourceType.CRYSTAL, 20));
+
+        assertTrue(stored.covers(ResourceVector.of(Map.of(ResourceType.METAL, 50, ResourceType.CRYSTAL, 20))));
+        assertTrue(stored.covers(ResourceVector.ZERO));
+        assertFalse(stored.covers(ResourceVector.of(Map.of(ResourceType.METAL, 10, ResourceType.SILICONE, 1))));
+    }
+
+    @Test
+    void jsonMatchesPlainResourceMap() throws JsonProcessingException {
+        ResourceVector cost = ResourceVector.of(Map.of(ResourceType.METAL, 50, ResourceType.SILICONE, 20));
+
+        String json = objectMapper.writeValueAsString(cost);
+
+        assertEquals(objectMapper.readTree("{\"METAL\":50,\"SILICONE\":20}"), objectMapper.readTree(json));
+        assertEquals(cost, objectMapper.readValue(json, ResourceVector.class));
+        assertEquals(ResourceVector.ZERO, objectMapper.readValue("{}", ResourceVector.class));
+    }
+}
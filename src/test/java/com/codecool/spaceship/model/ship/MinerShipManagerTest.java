@@ -0,0 +1,39 @@
+package com.codecool.spaceship.model.ship;
+
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.service.LevelService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MinerShipManagerTest {
+
+    @Mock
+    LevelService levelServiceMock;
+    @Mock
+    Level levelMock;
+
+    @Test
+    void endMissionRechargesShield() {
+        when(levelServiceMock.getLevelByTypeAndLevel(UpgradeableType.SHIELD, 1)).thenReturn(levelMock);
+        when(levelMock.getEffect()).thenReturn(20);
+        MinerShip ship = MinerShip.builder().build();
+        ship.setShieldLevel(1);
+        ship.setShieldEnergy(20);
+        MinerShipManager shipManager = new MinerShipManager(levelServiceMock, ship);
+
+        shipManager.damageShield(20);
+        assertEquals(0, shipManager.getShieldEnergy());
+        shipManager.endMission();
+
+        assertEquals(20, shipManager.getShieldEnergy());
+        assertNull(ship.getCurrentMission());
+    }
+}
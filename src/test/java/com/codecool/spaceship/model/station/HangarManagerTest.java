@@ -11,9 +11,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -129,4 +131,22 @@ class HangarManagerTest {
 //        int expected = 5;
 //        assertEquals(expected, hangarManager.getCurrentLevel());
 //    }
-}
\ No newline at end of file
+
+    @Test
+    void fingerprintChangesWhenShipLeavesAndAnotherIsUpdated() {
+        SpaceShip a = ship(1L, 0L);
+        SpaceShip b = ship(2L, 0L);
+        long before = HangarManager.fingerprint(List.of(a, b));
+        SpaceShip renamedB = ship(2L, 1L);
+
+        assertEquals(before, HangarManager.fingerprint(List.of(b, a)));
+        assertNotEquals(before, HangarManager.fingerprint(List.of(renamedB)));
+    }
+
+    private static SpaceShip ship(long id, long version) {
+        MinerShip ship = new MinerShip();
+        ship.setId(id);
+        ship.setVersion(version);
+        return ship;
+    }
+}
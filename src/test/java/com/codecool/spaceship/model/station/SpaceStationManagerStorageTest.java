@@ -2,7 +2,9 @@ package com.codecool.spaceship.model.station;
 
 import com.codecool.spaceship.model.Level;
 import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.resource.ResourceStorage;
 import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
 import com.codecool.spaceship.model.exception.StorageException;
 import com.codecool.spaceship.service.LevelService;
 import org.junit.jupiter.api.Test;
@@ -38,7 +40,7 @@ class SpaceStationManagerStorageTest {
     void getCurrentCapacityTestLevel3() {
         when(levelServiceMock.getLevelByTypeAndLevel(UpgradeableType.STATION_STORAGE, 3)).thenReturn(levelMock);
         when(levelMock.getEffect()).thenReturn(100);
-        StationStorageManager stationStorageManager = new StationStorageManager(levelServiceMock, 3, new HashMap<>());
+        StationStorageManager stationStorageManager = new StationStorageManager(levelServiceMock, 3, new ResourceStorage());
         int expected = 100;
         assertEquals(expected, stationStorageManager.getCurrentCapacity());
     }
@@ -53,7 +55,7 @@ class SpaceStationManagerStorageTest {
         Map<ResourceType, Integer> expected = new HashMap<>() {{
             put(ResourceType.METAL, 5);
         }};
-        assertEquals(expected, stationStorageManager.getStoredResources());
+        assertEquals(expected, stationStorageManager.getStoredResources().toMap());
     }
 
     @Test
@@ -69,7 +71,7 @@ class SpaceStationManagerStorageTest {
             put(ResourceType.METAL, 15);
             put(ResourceType.SILICONE, 2);
         }};
-        assertEquals(expected, stationStorageManager.getStoredResources());
+        assertEquals(expected, stationStorageManager.getStoredResources().toMap());
     }
 
     @Test
@@ -92,7 +94,6 @@ class SpaceStationManagerStorageTest {
     @Test
     void hasResourceFalse() {
         when(levelServiceMock.getLevelByTypeAndLevel(UpgradeableType.STATION_STORAGE, 1)).thenReturn(levelMock);
-        when(levelMock.getEffect()).thenReturn(20);
         StationStorageManager stationStorageManager = new StationStorageManager(levelServiceMock);
         assertFalse(stationStorageManager.hasResource(ResourceType.METAL, 5));
     }
@@ -107,13 +108,23 @@ class SpaceStationManagerStorageTest {
         Map<ResourceType, Integer> expected = new HashMap<>() {{
             put(ResourceType.METAL, 1);
         }};
-        assertEquals(expected, stationStorageManager.getStoredResources());
+        assertEquals(expected, stationStorageManager.getStoredResources().toMap());
     }
 
     @Test
-    void removeResourceError() {
+    void overCapacityStorageIsReadableButTakesNoDeposits() {
         when(levelServiceMock.getLevelByTypeAndLevel(UpgradeableType.STATION_STORAGE, 1)).thenReturn(levelMock);
         when(levelMock.getEffect()).thenReturn(20);
+        StationStorageManager stationStorageManager = new StationStorageManager(levelServiceMock, 1,
+                new ResourceStorage(ResourceVector.of(ResourceType.METAL, 25)));
+
+        assertEquals(25, stationStorageManager.getStoredResources().get(ResourceType.METAL));
+        assertThrows(StorageException.class, () -> stationStorageManager.addResource(ResourceType.METAL, 1));
+    }
+
+    @Test
+    void removeResourceError() {
+        when(levelServiceMock.getLevelByTypeAndLevel(UpgradeableType.STATION_STORAGE, 1)).thenReturn(levelMock);
         StationStorageManager stationStorageManager = new StationStorageManager(levelServiceMock);
         assertThrows(StorageException.class, () -> stationStorageManager.removeResource(ResourceType.METAL, 1));
     }
@@ -0,0 +1,366 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.exception.IllegalOperationException;
+import com.codecool.spaceship.model.exception.StorageException;
+import com.codecool.spaceship.model.location.Location;
+import com.codecool.spaceship.model.mission.Event;
+import com.codecool.spaceship.model.mission.EventMessage;
+import com.codecool.spaceship.model.mission.EventType;
+import com.codecool.spaceship.model.mission.MiningMission;
+import com.codecool.spaceship.model.mission.MissionFactory;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.model.resource.ResourceStorage;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.ship.ShipManagerFactory;
+import com.codecool.spaceship.model.station.SpaceStation;
+import com.codecool.spaceship.service.LevelService;
+import com.codecool.spaceship.service.MissionCache;
+import com.codecool.spaceship.service.MissionPreviewService;
+import com.codecool.spaceship.service.MissionScheduler;
+import com.codecool.spaceship.service.MissionService;
+import com.codecool.spaceship.service.MissionStreamService;
+import com.codecool.spaceship.service.OptimisticRetryExecutor;
+import com.codecool.spaceship.service.PlayerLaneExecutor;
+import com.codecool.spaceship.service.RandomProvider;
+import com.codecool.spaceship.service.ResourceLedgerCompactor;
+import com.codecool.spaceship.service.ResourceLedgerService;
+import com.codecool.spaceship.service.StationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcurrentStorageUpdateTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 25;
+    private static final ResourceVector TRANSFER = ResourceVector.of(Map.of(ResourceType.METAL, 2, ResourceType.CRYSTAL, -1));
+    private static final int MISSIONS = 10;
+    private static final int RESERVE = 100;
+    private static final int CAPACITY = 100;
+    private static final int GRANT = 3;
+    private static final int CARGO = 20;
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    SpaceStationRepository spaceStationRepository;
+    @Autowired
+    MissionRepository missionRepository;
+    @Autowired
+    SpaceShipRepository spaceShipRepository;
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ResourceLedgerRepository resourceLedgerRepository;
+    @Autowired
+    LevelRepository levelRepository;
+
+    OptimisticRetryExecutor optimisticRetryExecutor;
+    Long stationId;
+
+    @BeforeEach
+    void setUp() {
+        optimisticRetryExecutor = new OptimisticRetryExecutor(transactionTemplate, entityManager, 5);
+        SpaceStation station = new SpaceStation();
+        station.setName("Station");
+        stationId = spaceStationRepository.save(station).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            spaceShipRepository.findAll().forEach(ship -> ship.setCurrentMission(null));
+            locationRepository.findAll().forEach(location -> location.setCurrentMission(null));
+        });
+        missionRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        locationRepository.deleteAll();
+        resourceLedgerRepository.deleteAllInBatch();
+        spaceStationRepository.deleteById(stationId);
+        userRepository.deleteAll();
+        levelRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentResourceTransfersAreNeitherLostNorDuplicated() throws Exception {
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+                    try {
+                        optimisticRetryExecutor.run(() -> {
+                            SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+                            station.getStoredResources().add(TRANSFER);
+                            spaceStationRepository.save(station);
+                        });
+                        committed.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(THREADS * UPDATES_PER_THREAD, committed.get() + rejected.get());
+        assertTrue(committed.get() > 0);
+        assertEquals(2 * committed.get(), station.getStoredResources().get(ResourceType.METAL));
+        assertEquals(-committed.get(), station.getStoredResources().get(ResourceType.CRYSTAL));
+        assertTrue(station.getVersion() >= committed.get());
+    }
+
+    @Test
+    void concurrentMissionAdvancesMineEachActivityOnce() throws Exception {
+        LevelService levelService = mock(LevelService.class);
+        when(levelService.getLevelByTypeAndLevel(any(), anyInt()))
+                .thenReturn(Level.builder().level(1).effect(60).max(true).cost(Map.of()).build());
+        MissionFactory missionFactory = new MissionFactory(new ShipManagerFactory(levelService), new RandomProvider());
+        MissionCache missionCache = new MissionCache(new SimpleMeterRegistry(), 100);
+        MissionStreamService missionStreamService = new MissionStreamService(Duration.ofSeconds(5), Duration.ofSeconds(15));
+        MissionScheduler missionScheduler = new MissionScheduler(missionRepository, missionFactory, transactionTemplate,
+                missionStreamService, optimisticRetryExecutor, missionCache, MISSIONS);
+        PlayerLaneExecutor playerLaneExecutor = new PlayerLaneExecutor(new SimpleMeterRegistry(), 16, Duration.ofSeconds(5));
+        MissionService missionService = new MissionService(missionRepository, missionFactory, spaceShipRepository, locationRepository,
+                missionScheduler, missionStreamService, optimisticRetryExecutor, playerLaneExecutor, missionCache,
+                mock(MissionPreviewService.class));
+        UserEntity user = transactionTemplate.execute(status -> RepositoryFixtures.persistUser(entityManager, "miner"));
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getUsername(), Role.USER, null);
+        List<Long> missionIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < MISSIONS; i++) {
+                ids.add(persistMiningMissionReadyToFinish(user, i));
+            }
+            return ids;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean sweeper = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (sweeper) {
+                    missionScheduler.sweepDueMissions(LocalDateTime.now(ZoneOffset.UTC));
+                    return null;
+                }
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                for (Long missionId : missionIds) {
+                    try {
+                        missionService.abortMission(missionId);
+                    } catch (IllegalOperationException | OptimisticLockingFailureException e) {
+                        // the activity already finished, or every retry lost the race
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        missionStreamService.stop();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long missionId : missionIds) {
+                MiningMission mission = (MiningMission) missionRepository.findById(missionId).orElseThrow();
+                int mined = ((MinerShip) mission.getShip()).getStoredResources().get(ResourceType.METAL);
+                assertEquals(MissionStatus.RETURNING, mission.getCurrentStatus());
+                assertTrue(mined > 0);
+                assertEquals(RESERVE - mined, mission.getLocation().getResourceReserve());
+                assertEquals(1, mission.getEvents().stream().filter(event -> event.getEventType() == EventType.ACTIVITY_COMPLETE).count());
+            }
+        });
+    }
+
+    @Test
+    void adminGrantsAndOwnerTransfersOnSeparateNodesNeverOverfillStorage() throws Exception {
+        LevelService levelService = mock(LevelService.class);
+        when(levelService.getLevelByTypeAndLevel(any(), anyInt()))
+                .thenReturn(Level.builder().level(1).effect(CAPACITY).max(true).cost(Map.of()).build());
+        ResourceLedgerService resourceLedgerService = new ResourceLedgerService(resourceLedgerRepository);
+        ResourceLedgerCompactor compactor = new ResourceLedgerCompactor(resourceLedgerRepository, spaceStationRepository,
+                transactionTemplate, Duration.ofMinutes(1), 10);
+        // each node has its own player lanes, so only the database keeps the two apart
+        StationService adminNode = new StationService(spaceStationRepository, spaceShipRepository, levelService, resourceLedgerService,
+                optimisticRetryExecutor, new PlayerLaneExecutor(new SimpleMeterRegistry(), 16, Duration.ofSeconds(5)),
+                mock(MissionService.class), mock(AsyncTaskExecutor.class));
+        StationService ownerNode = new StationService(spaceStationRepository, spaceShipRepository, levelService, resourceLedgerService,
+                optimisticRetryExecutor, new PlayerLaneExecutor(new SimpleMeterRegistry(), 16, Duration.ofSeconds(5)),
+                mock(MissionService.class), mock(AsyncTaskExecutor.class));
+        UserEntity owner = transactionTemplate.execute(status -> RepositoryFixtures.persistUser(entityManager, "owner"));
+        UserPrincipal ownerPrincipal = new UserPrincipal(owner.getId(), owner.getUsername(), Role.USER, stationId);
+        UserPrincipal adminPrincipal = new UserPrincipal(0L, "admin", Role.ADMIN, null);
+        List<Long> shipIds = transactionTemplate.execute(status -> {
+            entityManager.persist(Level.builder().type(UpgradeableType.STATION_STORAGE).level(1).effect(CAPACITY).max(true).cost(Map.of()).build());
+            SpaceStation station = entityManager.find(SpaceStation.class, stationId);
+            station.setUser(owner);
+            station.setStorageLevel(1);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < THREADS / 2; i++) {
+                MinerShip ship = MinerShip.builder().build();
+                ship.setName("Miner-" + i);
+                ship.setUser(owner);
+                ship.setStation(station);
+                ship.setStoredResources(new ResourceStorage(ResourceVector.of(ResourceType.METAL, CARGO)));
+                entityManager.persist(ship);
+                ids.add(ship.getId());
+            }
+            return ids;
+        });
+
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger transferred = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        Future<?> compaction = executor.submit(() -> {
+            start.await();
+            while (!done.get()) {
+                compactor.compact();
+            }
+            return null;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean admin = i % 2 == 0;
+            long shipId = shipIds.get(i / 2);
+            futures.add(executor.submit(() -> {
+                UserPrincipal principal = admin ? adminPrincipal : ownerPrincipal;
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                start.await();
+                for (int j = 0; j < CARGO / 2; j++) {
+                    try {
+                        if (admin) {
+                            adminNode.addResources(stationId, ResourceVector.of(ResourceType.METAL, GRANT));
+                            granted.incrementAndGet();
+                        } else if (ownerNode.moveResourceFromShipToStation(stationId, shipId, ResourceVector.of(ResourceType.METAL, 2))) {
+                            transferred.incrementAndGet();
+                        }
+                    } catch (StorageException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        done.set(true);
+        compaction.get();
+        executor.shutdown();
+
+        int stored = GRANT * granted.get() + 2 * transferred.get();
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertTrue(rejected.get() > 0);
+        assertTrue(stored <= CAPACITY);
+        assertEquals(ResourceVector.of(ResourceType.METAL, stored), resourceLedgerService.getBalance(station));
+        int cargoLeft = spaceShipRepository.findAllById(shipIds).stream()
+                .mapToInt(ship -> ((MinerShip) ship).getStoredResources().get(ResourceType.METAL)).sum();
+        assertEquals(shipIds.size() * CARGO - 2 * transferred.get(), cargoLeft);
+
+        compactor.compact();
+        station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(ResourceVector.of(ResourceType.METAL, stored), station.getStoredResources().toVector());
+        assertEquals(resourceLedgerService.getHead(station), station.getLedgerWatermark());
+    }
+
+    private Long persistMiningMissionReadyToFinish(UserEntity user, int index) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Location location = Location.builder().name("Location-" + index).resourceType(ResourceType.METAL)
+                .resourceReserve(RESERVE).distanceFromStation(10).user(user).build();
+        entityManager.persist(location);
+        MinerShip ship = MinerShip.builder().build();
+        ship.setName("Miner-" + index);
+        ship.setUser(user);
+        ship.setEngineLevel(1);
+        ship.setShieldLevel(1);
+        ship.setDrillLevel(1);
+        ship.setStorageLevel(1);
+        ship.setStoredResources(new ResourceStorage());
+        entityManager.persist(ship);
+        List<Event> events = new ArrayList<>();
+        events.add(Event.builder().eventType(EventType.START).endTime(now.minusMinutes(31)).build());
+        events.get(0).setEventMessage(EventMessage.MINING_ARRIVED, location.getName());
+        events.add(Event.builder().eventType(EventType.ACTIVITY_COMPLETE).endTime(now.minusMinutes(1)).build());
+        MiningMission mission = MiningMission.builder()
+                .user(user).ship(ship).location(location)
+                .startTime(now.minusMinutes(91))
+                .currentStatus(MissionStatus.IN_PROGRESS)
+                .currentObjectiveTime(now.minusMinutes(1))
+                .approxEndTime(now.plusMinutes(59))
+                .travelDurationInSecs(3600)
+                .activityDurationInSecs(1800)
+                .events(events)
+                .hazards(new ArrayList<>())
+                .build();
+        entityManager.persist(mission);
+        ship.setCurrentMission(mission);
+        location.setCurrentMission(mission);
+        return mission.getId();
+    }
+}
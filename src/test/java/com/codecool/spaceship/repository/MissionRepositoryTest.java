@@ -0,0 +1,142 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
+import com.codecool.spaceship.model.location.Location;
+import com.codecool.spaceship.model.mission.DueMission;
+import com.codecool.spaceship.model.mission.Event;
+import com.codecool.spaceship.model.mission.EventType;
+import com.codecool.spaceship.model.mission.MiningMission;
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.model.mission.MissionType;
+import com.codecool.spaceship.model.mission.ScoutingMission;
+import com.codecool.spaceship.model.resource.ResourceType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MissionRepositoryTest {
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    MissionRepository missionRepository;
+
+    UserEntity user;
+    UserEntity otherUser;
+    Long missionId;
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = RepositoryFixtures.persistUser(entityManager, "user");
+        otherUser = RepositoryFixtures.persistUser(entityManager, "other");
+        for (int i = 0; i < 10; i++) {
+            Location location = Location.builder().name("Location-" + i).resourceType(ResourceType.METAL).user(user).build();
+            entityManager.persist(location);
+            entityManager.persist(MiningMission.builder().user(user).location(location)
+                    .currentStatus(MissionStatus.EN_ROUTE).currentObjectiveTime(LocalDateTime.now()).build());
+            entityManager.persist(ScoutingMission.builder().user(user).targetResource(ResourceType.CRYSTAL)
+                    .currentStatus(MissionStatus.RETURNING).currentObjectiveTime(LocalDateTime.now()).build());
+        }
+        ScoutingMission archived = ScoutingMission.builder().user(user).targetResource(ResourceType.SILICONE)
+                .currentStatus(MissionStatus.ARCHIVED).build();
+        entityManager.persist(archived);
+        missionId = archived.getId();
+        statistics = RepositoryFixtures.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void getActiveMissionDTOsRunsSingleQuery() {
+        List<MissionDTO> missions = missionRepository.getMissionDTOsByUserIdAndCurrentStatusNot(user.getId(), MissionStatus.ARCHIVED);
+
+        assertEquals(20, missions.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getActiveMissionDTOsBuildsTitles() {
+        List<MissionDTO> missions = missionRepository.getMissionDTOsByUserIdAndCurrentStatusNot(user.getId(), MissionStatus.ARCHIVED)
+                .stream()
+                .sorted(Comparator.comparing(MissionDTO::getId))
+                .toList();
+
+        assertEquals(MissionType.MINING, missions.get(0).getType());
+        assertEquals("Mining mission on Location-0", missions.get(0).getTitle());
+        assertEquals(MissionType.SCOUTING, missions.get(1).getType());
+        assertEquals("Exploration mission for crystal", missions.get(1).getTitle());
+    }
+
+    @Test
+    void getArchivedMissionDTOsRunsSingleQuery() {
+        List<MissionDTO> missions = missionRepository.getMissionDTOsByUserIdAndCurrentStatus(user.getId(), MissionStatus.ARCHIVED);
+
+        assertEquals(1, missions.size());
+        assertEquals("Exploration mission for silicone", missions.get(0).getTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdAndUserIdOwnMission() {
+        assertTrue(missionRepository.findByIdAndUserId(missionId, user.getId()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdAndUserIdOtherUsersMission() {
+        assertTrue(missionRepository.findByIdAndUserId(missionId, otherUser.getId()).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void appendingEventsUpdatesMissionRowOnly() {
+        Mission mission = missionRepository.findById(missionId).orElseThrow();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(Event.builder().eventType(EventType.START).endTime(LocalDateTime.now()).build());
+        }
+        mission.getEvents().addAll(events);
+        missionRepository.save(mission);
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        assertEquals(100, missionRepository.findById(missionId).orElseThrow().getEvents().size());
+    }
+
+    @Test
+    void getDueMissionsPagesInObjectiveTimeOrder() {
+        Set<MissionStatus> statuses = Set.of(MissionStatus.EN_ROUTE, MissionStatus.RETURNING);
+        LocalDateTime time = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 7);
+        List<DueMission> due = new ArrayList<>(missionRepository.getDueMissions(statuses, time, page));
+        List<DueMission> batch = due;
+        while (batch.size() == 7) {
+            DueMission last = batch.get(batch.size() - 1);
+            batch = missionRepository.getDueMissionsAfter(statuses, time, last.currentObjectiveTime(), last.id(), page);
+            due.addAll(batch);
+        }
+
+        assertEquals(20, due.size());
+        assertEquals(due.stream().sorted(Comparator.comparing(DueMission::currentObjectiveTime)
+                .thenComparing(DueMission::id)).toList(), due);
+    }
+}
@@ -0,0 +1,44 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.resource.ResourceStorage;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.station.SpaceStation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+final class RepositoryFixtures {
+
+    private RepositoryFixtures() {
+    }
+
+    static UserEntity persistUser(EntityManager entityManager, String username) {
+        UserEntity user = UserEntity.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .password("pw")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    static SpaceStation persistStation(EntityManager entityManager, UserEntity user, ResourceVector resources) {
+        SpaceStation station = new SpaceStation();
+        station.setName("Station");
+        station.setUser(user);
+        station.setStoredResources(new ResourceStorage(resources));
+        entityManager.persist(station);
+        return station;
+    }
+
+    static Statistics clearedStatistics(EntityManager entityManager) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,9 @@
+package com.codecool.spaceship.repository;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+
+@SpringBootConfiguration
+@AutoConfigurationPackage(basePackages = "com.codecool.spaceship")
+class RepositoryTestConfig {
+}
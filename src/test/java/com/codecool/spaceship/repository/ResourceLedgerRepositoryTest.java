@@ -0,0 +1,112 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.exception.StorageException;
+import com.codecool.spaceship.model.resource.LedgerReason;
+import com.codecool.spaceship.model.resource.ResourceLedgerEntry;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.station.SpaceStation;
+import com.codecool.spaceship.service.ResourceLedgerCompactor;
+import com.codecool.spaceship.service.ResourceLedgerService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ResourceLedgerRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    ResourceLedgerRepository resourceLedgerRepository;
+    @Autowired
+    SpaceStationRepository spaceStationRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    ResourceLedgerService resourceLedgerService;
+    ResourceLedgerCompactor compactor;
+    Long stationId;
+
+    @BeforeEach
+    void setUp() {
+        resourceLedgerService = new ResourceLedgerService(resourceLedgerRepository);
+        compactor = new ResourceLedgerCompactor(resourceLedgerRepository, spaceStationRepository, new TransactionTemplate(transactionManager),
+                Duration.ofMinutes(1), 1);
+        entityManager.persist(Level.builder().type(UpgradeableType.STATION_STORAGE).level(1).effect(20).max(true).cost(Map.of()).build());
+        UserEntity user = RepositoryFixtures.persistUser(entityManager, "user");
+        SpaceStation station = RepositoryFixtures.persistStation(entityManager, user, ResourceVector.of(ResourceType.METAL, 10));
+        station.setStorageLevel(1);
+        stationId = station.getId();
+        entityManager.persist(new ResourceLedgerEntry(stationId, 1, ResourceVector.of(ResourceType.CRYSTAL, 5), LedgerReason.TRANSFER, NOW.minusMinutes(5)));
+        entityManager.persist(new ResourceLedgerEntry(stationId, 2, ResourceVector.of(ResourceType.METAL, -3), LedgerReason.UPGRADE, NOW.minusMinutes(2)));
+        entityManager.persist(new ResourceLedgerEntry(stationId, 3, ResourceVector.of(ResourceType.METAL, 4), LedgerReason.TRANSFER, NOW.minusSeconds(10)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void balanceIsSnapshotPlusTail() {
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+
+        assertEquals(ResourceVector.of(Map.of(ResourceType.METAL, 11, ResourceType.CRYSTAL, 5)), resourceLedgerService.getBalance(station));
+        assertEquals(3, resourceLedgerService.getHead(station));
+    }
+
+    @Test
+    void compactFoldsEntriesIntoSnapshot() {
+        assertEquals(1, compactor.compact());
+        entityManager.clear();
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(ResourceVector.of(Map.of(ResourceType.METAL, 11, ResourceType.CRYSTAL, 5)), station.getStoredResources().toVector());
+        assertEquals(3, station.getLedgerWatermark());
+        assertEquals(0, compactor.compact());
+
+        resourceLedgerService.withdraw(stationId, ResourceVector.of(ResourceType.METAL, 1), LedgerReason.UPGRADE);
+        assertEquals(4, resourceLedgerService.getHead(station));
+        assertEquals(ResourceVector.of(Map.of(ResourceType.METAL, 10, ResourceType.CRYSTAL, 5)), resourceLedgerService.getBalance(station));
+    }
+
+    @Test
+    void withdrawResourcesOnlyWhenStationCoversCost() {
+        assertThrows(StorageException.class, () -> resourceLedgerService.withdraw(stationId,
+                ResourceVector.of(Map.of(ResourceType.METAL, 4, ResourceType.CRYSTAL, 6)), LedgerReason.UPGRADE));
+        resourceLedgerService.withdraw(stationId, ResourceVector.of(Map.of(ResourceType.METAL, 4, ResourceType.CRYSTAL, 5)), LedgerReason.UPGRADE);
+        entityManager.flush();
+        entityManager.clear();
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(ResourceVector.of(ResourceType.METAL, 7), resourceLedgerService.getBalance(station));
+        assertEquals(4, resourceLedgerService.getHead(station));
+    }
+
+    @Test
+    void depositResourcesRespectsStorageCapacity() {
+        resourceLedgerService.deposit(stationId, ResourceVector.of(ResourceType.SILICONE, 4), LedgerReason.TRANSFER);
+        assertThrows(StorageException.class, () -> resourceLedgerService.deposit(stationId, ResourceVector.of(ResourceType.SILICONE, 1), LedgerReason.TRANSFER));
+        assertThrows(StorageException.class, () -> resourceLedgerService.deposit(stationId, ResourceVector.of(ResourceType.METAL, -1), LedgerReason.ADMIN_GRANT));
+        entityManager.flush();
+        entityManager.clear();
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(20, resourceLedgerService.getBalance(station).total());
+        assertEquals(4, resourceLedgerService.getBalance(station).get(ResourceType.SILICONE));
+    }
+}
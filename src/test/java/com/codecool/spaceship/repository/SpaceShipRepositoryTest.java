@@ -0,0 +1,77 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.resource.ResourceStorage;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.station.SpaceStation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SpaceShipRepositoryTest {
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    SpaceShipRepository spaceShipRepository;
+
+    UserEntity user;
+    UserEntity otherUser;
+    Long shipId;
+    Long stationId;
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = RepositoryFixtures.persistUser(entityManager, "user");
+        otherUser = RepositoryFixtures.persistUser(entityManager, "other");
+        SpaceStation station = RepositoryFixtures.persistStation(entityManager, user, ResourceVector.ZERO);
+        stationId = station.getId();
+        MinerShip ship = new MinerShip();
+        ship.setName("Miner");
+        ship.setUser(user);
+        ship.setStation(station);
+        ship.setStoredResources(new ResourceStorage(ResourceVector.of(ResourceType.METAL, 5)));
+        entityManager.persist(ship);
+        shipId = ship.getId();
+        statistics = RepositoryFixtures.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void findByIdAndUserIdOwnShip() {
+        assertTrue(spaceShipRepository.findByIdAndUserId(shipId, user.getId()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void unloadCargoChecksOwnerStationAndCargo() {
+        ResourceVector cargo = ResourceVector.of(ResourceType.METAL, 5);
+
+        assertEquals(0, spaceShipRepository.unloadCargo(shipId, stationId, otherUser.getId(), cargo));
+        assertEquals(0, spaceShipRepository.unloadCargo(shipId, stationId + 1, user.getId(), cargo));
+        assertEquals(0, spaceShipRepository.unloadCargo(shipId, stationId, user.getId(), ResourceVector.of(ResourceType.METAL, 6)));
+        assertEquals(1, spaceShipRepository.unloadCargo(shipId, stationId, null, cargo));
+
+        MinerShip ship = (MinerShip) spaceShipRepository.findById(shipId).orElseThrow();
+        assertEquals(0, ship.getStoredResources().getTotal());
+        assertEquals(1, ship.getVersion());
+    }
+
+    @Test
+    void findByIdAndUserIdOtherUsersShip() {
+        assertTrue(spaceShipRepository.findByIdAndUserId(shipId, otherUser.getId()).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
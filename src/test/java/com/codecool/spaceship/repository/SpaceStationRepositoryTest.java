@@ -0,0 +1,119 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.model.mission.ScoutingMission;
+import com.codecool.spaceship.model.resource.ResourceType;
+import com.codecool.spaceship.model.resource.ResourceVector;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.ship.ScoutShip;
+import com.codecool.spaceship.model.ship.SpaceShip;
+import com.codecool.spaceship.model.station.SpaceStation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SpaceStationRepositoryTest {
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    SpaceStationRepository spaceStationRepository;
+
+    UserEntity user;
+    UserEntity otherUser;
+    Long stationId;
+    Long stationVersion;
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = RepositoryFixtures.persistUser(entityManager, "user");
+        otherUser = RepositoryFixtures.persistUser(entityManager, "other");
+        SpaceStation station = RepositoryFixtures.persistStation(entityManager, user,
+                ResourceVector.of(Map.of(ResourceType.METAL, 10, ResourceType.CRYSTAL, 5)));
+        station.setStorageLevel(1);
+        station.setHangar(new HashSet<>());
+        MinerShip miner = MinerShip.builder().build();
+        miner.setName("Miner");
+        miner.setUser(user);
+        miner.setStation(station);
+        entityManager.persist(miner);
+        ScoutShip scout = ScoutShip.builder().build();
+        scout.setName("Scout");
+        scout.setUser(user);
+        scout.setStation(station);
+        entityManager.persist(scout);
+        ScoutingMission mission = ScoutingMission.builder().user(user).ship(scout).currentStatus(MissionStatus.EN_ROUTE).build();
+        entityManager.persist(mission);
+        scout.setCurrentMission(mission);
+        station.getHangar().add(miner);
+        station.getHangar().add(scout);
+        stationId = station.getId();
+        entityManager.flush();
+        stationVersion = station.getVersion();
+        statistics = RepositoryFixtures.clearedStatistics(entityManager);
+    }
+
+    @Test
+    void findWithHangarAndStorageByUserIdRunsSingleQuery() {
+        SpaceStation station = spaceStationRepository.findWithHangarAndStorageByUserId(user.getId()).orElseThrow();
+
+        assertEquals(2, station.getHangar().size());
+        assertEquals(1, station.getHangar().stream().map(SpaceShip::getCurrentMission).filter(Objects::nonNull).count());
+        assertEquals(10, station.getStoredResources().get(ResourceType.METAL));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void upgradeStorageOnlyFromExpectedLevel() {
+        assertEquals(0, spaceStationRepository.upgradeStorage(stationId, 2));
+        assertEquals(1, spaceStationRepository.upgradeStorage(stationId, 1));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(2, station.getStorageLevel());
+        assertEquals(stationVersion + 1, station.getVersion());
+    }
+
+    @Test
+    void compactLedgerOnlyFromCurrentWatermark() {
+        ResourceVector delta = ResourceVector.of(Map.of(ResourceType.METAL, -4, ResourceType.SILICONE, 2));
+
+        assertEquals(1, spaceStationRepository.compactLedger(stationId, 0, 3, delta));
+        assertEquals(0, spaceStationRepository.compactLedger(stationId, 0, 5, delta));
+
+        SpaceStation station = spaceStationRepository.findById(stationId).orElseThrow();
+        assertEquals(ResourceVector.of(Map.of(ResourceType.METAL, 6, ResourceType.CRYSTAL, 5, ResourceType.SILICONE, 2)),
+                station.getStoredResources().toVector());
+        assertEquals(13, station.getStoredResources().getTotal());
+        assertEquals(3, station.getLedgerWatermark());
+        assertEquals(stationVersion, station.getVersion());
+    }
+
+    @Test
+    void findByIdAndUserIdOwnStation() {
+        assertTrue(spaceStationRepository.findByIdAndUserId(stationId, user.getId()).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdAndUserIdOtherUsersStation() {
+        assertTrue(spaceStationRepository.findByIdAndUserId(stationId, otherUser.getId()).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
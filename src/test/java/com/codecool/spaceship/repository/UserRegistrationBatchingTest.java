@@ -0,0 +1,66 @@
+package com.codecool.spaceship.repository;
+
+import com.codecool.spaceship.auth.NewUserService;
+import com.codecool.spaceship.auth.RegisterRequest;
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.location.LocationDataGenerator;
+import com.codecool.spaceship.service.LevelService;
+import com.codecool.spaceship.service.RandomProvider;
+import jakarta.persistence.EntityManager;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.auto=com.codecool.spaceship.repository.UserRegistrationBatchingTest$BatchCounter"
+})
+class UserRegistrationBatchingTest {
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    LocationRepository locationRepository;
+    @Autowired
+    LevelRepository levelRepository;
+
+    @Test
+    void createUserInsertsOneBatchPerTable() {
+        entityManager.persist(Level.builder().type(UpgradeableType.SHIELD).level(1).effect(10).max(true).cost(Map.of()).build());
+        RandomProvider randomProvider = new RandomProvider();
+        NewUserService newUserService = new NewUserService(new BCryptPasswordEncoder(4), new LevelService(levelRepository),
+                userRepository, locationRepository, new LocationDataGenerator(randomProvider), randomProvider);
+        Statistics statistics = RepositoryFixtures.clearedStatistics(entityManager);
+        BatchCounter.BATCHES.set(0);
+
+        newUserService.createUser(RegisterRequest.builder().username("new").email("new@test.com").password("password").build());
+        entityManager.flush();
+
+        // user, station, miner ship and the three starter locations
+        assertEquals(6, statistics.getEntityInsertCount());
+        // one batch each for user, station, ship and location; the locations share theirs
+        assertEquals(4, BatchCounter.BATCHES.get());
+    }
+
+    public static class BatchCounter extends BaseSessionEventListener {
+
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.Level;
+import com.codecool.spaceship.model.UpgradeableType;
+import com.codecool.spaceship.model.dto.NewLevelDTO;
+import com.codecool.spaceship.repository.LevelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LevelServiceTest {
+
+    @Mock
+    LevelRepository levelRepositoryMock;
+
+    @Test
+    void getLevelByTypeAndLevelLoadsTableOnce() {
+        when(levelRepositoryMock.getAllLevelsWithCost()).thenReturn(List.of(
+                level(UpgradeableType.ENGINE, 2, 5, true),
+                level(UpgradeableType.ENGINE, 1, 1, false)));
+        LevelService levelService = new LevelService(levelRepositoryMock);
+
+        assertEquals(1, levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 1).getEffect());
+        assertEquals(5, levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 2).getEffect());
+        verify(levelRepositoryMock, times(1)).getAllLevelsWithCost();
+    }
+
+    @Test
+    void getLevelByTypeAndLevelMissing() {
+        when(levelRepositoryMock.getAllLevelsWithCost()).thenReturn(List.of(level(UpgradeableType.ENGINE, 1, 1, true)));
+        LevelService levelService = new LevelService(levelRepositoryMock);
+
+        assertThrows(IllegalArgumentException.class, () -> levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 2));
+        assertThrows(IllegalArgumentException.class, () -> levelService.getLevelByTypeAndLevel(UpgradeableType.SHIELD, 1));
+    }
+
+    @Test
+    void addNewLevelReplacesTable() {
+        Level first = level(UpgradeableType.ENGINE, 1, 1, true);
+        Level second = level(UpgradeableType.ENGINE, 2, 5, true);
+        when(levelRepositoryMock.getAllLevelsWithCost())
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(first, second));
+        when(levelRepositoryMock.getLevelByTypeAndMax(UpgradeableType.ENGINE, true)).thenReturn(Optional.of(first));
+        when(levelRepositoryMock.save(any(Level.class))).thenReturn(first, second);
+        LevelService levelService = new LevelService(levelRepositoryMock);
+
+        assertThrows(IllegalArgumentException.class, () -> levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 2));
+        levelService.addNewLevel(new NewLevelDTO(UpgradeableType.ENGINE, 5, Map.of()));
+
+        assertEquals(5, levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 2).getEffect());
+    }
+
+    @Test
+    void getLevelByTypeAndLevelKeyedByLevelNumber() {
+        when(levelRepositoryMock.getAllLevelsWithCost()).thenReturn(List.of(
+                level(UpgradeableType.ENGINE, 3, 9, true),
+                level(UpgradeableType.ENGINE, 2, 5, false)));
+        LevelService levelService = new LevelService(levelRepositoryMock);
+
+        assertEquals(5, levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 2).getEffect());
+        assertEquals(9, levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 3).getEffect());
+        assertThrows(IllegalArgumentException.class, () -> levelService.getLevelByTypeAndLevel(UpgradeableType.ENGINE, 1));
+    }
+
+    @Test
+    void configVersionFollowsLevelContentNotInstance() {
+        Level engine = level(UpgradeableType.ENGINE, 1, 1, true);
+        when(levelRepositoryMock.getAllLevelsWithCost()).thenAnswer(invocation -> List.of(engine));
+        when(levelRepositoryMock.findById(1L)).thenReturn(Optional.of(engine));
+        LevelService levelService = new LevelService(levelRepositoryMock);
+        LevelService otherNode = new LevelService(levelRepositoryMock);
+
+        long before = levelService.getConfigVersion();
+        assertEquals(before, otherNode.getConfigVersion());
+        levelService.updateLevelById(1L, new NewLevelDTO(UpgradeableType.ENGINE, 2, Map.of()));
+
+        assertNotEquals(before, levelService.getConfigVersion());
+    }
+
+    private static Level level(UpgradeableType type, int level, int effect, boolean max) {
+        return Level.builder().id((long) level).type(type).level(level).effect(effect).max(max).cost(Map.of()).build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.dto.VersionedDTO;
+import com.codecool.spaceship.model.dto.mission.MissionDTO;
+import com.codecool.spaceship.model.dto.mission.MissionDetailDTO;
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.model.mission.MissionType;
+import com.codecool.spaceship.model.mission.ScoutingMission;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MissionCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 5, 1, 12, 0);
+
+    @Mock
+    Clock clockMock;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    MissionCache missionCache;
+    UserEntity user = UserEntity.builder().id(1L).build();
+    UserEntity otherUser = UserEntity.builder().id(2L).build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+        lenient().when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        missionCache = new MissionCache(meterRegistry, 2, clockMock);
+    }
+
+    @Test
+    void detailExpiresAtNextTransition() {
+        Mission mission = mission(1L, MissionStatus.EN_ROUTE, NOW.plusMinutes(5));
+        VersionedDTO<MissionDetailDTO> detail = detail(mission);
+        missionCache.putDetail(mission, detail, missionCache.generation());
+
+        assertSame(detail, missionCache.getDetail(1L, 1L, false).orElseThrow());
+        when(clockMock.instant()).thenReturn(NOW.plusMinutes(5).toInstant(ZoneOffset.UTC));
+        assertTrue(missionCache.getDetail(1L, 1L, false).isEmpty());
+        assertEquals(1, meterRegistry.get("spaceship.mission.cache.requests").tags("cache", "detail", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("spaceship.mission.cache.requests").tags("cache", "detail", "result", "miss").counter().count());
+    }
+
+    @Test
+    void detailIsOnlyServedToOwnerOrAdmin() {
+        Mission mission = mission(1L, MissionStatus.OVER, null);
+        missionCache.putDetail(mission, detail(mission), missionCache.generation());
+
+        assertTrue(missionCache.getDetail(1L, 2L, false).isEmpty());
+        assertTrue(missionCache.getDetail(1L, 2L, true).isPresent());
+    }
+
+    @Test
+    void loadStartedBeforeEvictionIsNotCached() {
+        Mission mission = mission(1L, MissionStatus.EN_ROUTE, NOW.plusMinutes(5));
+        long loadedAt = missionCache.generation();
+        missionCache.evict(mission);
+        missionCache.putDetail(mission, detail(mission), loadedAt);
+        missionCache.putActive(1L, List.of(), loadedAt);
+
+        assertTrue(missionCache.getDetail(1L, 1L, false).isEmpty());
+        assertTrue(missionCache.getActive(1L).isEmpty());
+    }
+
+    @Test
+    void evictionOnlyRefusesLoadsOfTheSameUser() {
+        Mission mission = mission(1L, MissionStatus.EN_ROUTE, NOW.plusMinutes(5));
+        long loadedAt = missionCache.generation();
+        missionCache.evict(mission(2L, MissionStatus.EN_ROUTE, NOW.plusMinutes(5), otherUser));
+        missionCache.putDetail(mission, detail(mission), loadedAt);
+        missionCache.putActive(1L, List.of(), loadedAt);
+        missionCache.putActive(2L, List.of(), loadedAt);
+
+        assertTrue(missionCache.getDetail(1L, 1L, false).isPresent());
+        assertTrue(missionCache.getActive(1L).isPresent());
+        assertTrue(missionCache.getActive(2L).isEmpty());
+    }
+
+    @Test
+    void evictUserRemovesOnlyThatUsersDetails() {
+        Mission own = mission(1L, MissionStatus.OVER, null);
+        Mission other = mission(2L, MissionStatus.OVER, null, otherUser);
+        missionCache.putDetail(own, detail(own), missionCache.generation());
+        missionCache.putDetail(other, detail(other), missionCache.generation());
+
+        missionCache.evictUser(1L);
+
+        assertTrue(missionCache.getDetail(1L, 1L, false).isEmpty());
+        assertTrue(missionCache.getDetail(2L, 2L, false).isPresent());
+    }
+
+    @Test
+    void activeListExpiresAtEarliestPendingTransitionAndIsBounded() {
+        List<MissionDTO> missions = List.of(
+                new MissionDTO(1L, "done", MissionType.MINING, MissionStatus.OVER, NOW.minusMinutes(1), NOW.minusMinutes(1)),
+                new MissionDTO(2L, "returning", MissionType.MINING, MissionStatus.RETURNING, NOW.plusMinutes(2), NOW.plusMinutes(2)),
+                new MissionDTO(3L, "en route", MissionType.SCOUTING, MissionStatus.EN_ROUTE, NOW.plusMinutes(1), NOW.plusMinutes(9)));
+        long loadedAt = missionCache.generation();
+        missionCache.putActive(1L, missions, loadedAt);
+        missionCache.putActive(2L, List.of(), loadedAt);
+        missionCache.putActive(3L, List.of(), loadedAt);
+
+        assertTrue(missionCache.getActive(1L).isEmpty());
+        missionCache.putActive(1L, missions, loadedAt);
+        assertEquals(3, missionCache.getActive(1L).orElseThrow().size());
+        when(clockMock.instant()).thenReturn(NOW.plusMinutes(1).toInstant(ZoneOffset.UTC));
+        assertTrue(missionCache.getActive(1L).isEmpty());
+    }
+
+    private static VersionedDTO<MissionDetailDTO> detail(Mission mission) {
+        MissionDetailDTO detail = mock(MissionDetailDTO.class);
+        return VersionedDTO.of(() -> detail, mission.getCurrentObjectiveTime(), "mission", 0L, 0L);
+    }
+
+    private Mission mission(long id, MissionStatus status, LocalDateTime currentObjectiveTime) {
+        return mission(id, status, currentObjectiveTime, user);
+    }
+
+    private static Mission mission(long id, MissionStatus status, LocalDateTime currentObjectiveTime, UserEntity owner) {
+        return ScoutingMission.builder().id(id).user(owner).currentStatus(status).currentObjectiveTime(currentObjectiveTime).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.dto.mission.MiningMissionPreviewDTO;
+import com.codecool.spaceship.model.location.Location;
+import com.codecool.spaceship.model.ship.MinerShip;
+import com.codecool.spaceship.model.ship.MinerShipManager;
+import com.codecool.spaceship.model.ship.ShipManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MissionPreviewServiceTest {
+
+    @Mock
+    ShipManagerFactory shipManagerFactoryMock;
+    @Mock
+    MinerShipManager minerShipManagerMock;
+
+    MissionPreviewService missionPreviewService;
+    MinerShip ship;
+    Location location;
+
+    @BeforeEach
+    void setUp() {
+        missionPreviewService = new MissionPreviewService(shipManagerFactoryMock, 100);
+        ship = MinerShip.builder().build();
+        location = Location.builder().distanceFromStation(5).resourceReserve(100).build();
+        when(shipManagerFactoryMock.getSpaceShipManager(ship)).thenReturn(minerShipManagerMock);
+        when(minerShipManagerMock.getEmptyStorageSpace()).thenReturn(20);
+    }
+
+    @Test
+    void previewMiningCapsAmountByStorageSpace() {
+        when(minerShipManagerMock.getSpeed()).thenReturn(2);
+        when(minerShipManagerMock.getDrillEfficiency()).thenReturn(10);
+
+        MiningMissionPreviewDTO preview = missionPreviewService.previewMining(ship, location, TimeUnit.HOURS.toSeconds(3));
+
+        assertEquals(new MiningMissionPreviewDTO(9000, TimeUnit.HOURS.toSeconds(2), 20), preview);
+    }
+
+    @Test
+    void previewMiningIsMemoisedByInputs() {
+        when(minerShipManagerMock.getSpeed()).thenReturn(2);
+        when(minerShipManagerMock.getDrillEfficiency()).thenReturn(10);
+
+        MiningMissionPreviewDTO first = missionPreviewService.previewMining(ship, location, 3600);
+        MiningMissionPreviewDTO second = missionPreviewService.previewMining(ship, location, 3600);
+        MiningMissionPreviewDTO shorter = missionPreviewService.previewMining(ship, location, 1800);
+
+        assertSame(first, second);
+        assertNotEquals(first, shorter);
+    }
+
+    @Test
+    void previewMiningRecomputesWhenLevelEffectChanges() {
+        when(minerShipManagerMock.getSpeed()).thenReturn(2);
+        when(minerShipManagerMock.getDrillEfficiency()).thenReturn(10).thenReturn(10).thenReturn(5);
+
+        MiningMissionPreviewDTO before = missionPreviewService.previewMining(ship, location, 3600);
+        MiningMissionPreviewDTO after = missionPreviewService.previewMining(ship, location, 3600);
+
+        assertEquals(10, before.expectedAmount());
+        assertEquals(5, after.expectedAmount());
+    }
+}
@@ -0,0 +1,90 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.UserEntity;
+import com.codecool.spaceship.model.mission.MissionStatus;
+import com.codecool.spaceship.model.mission.ScoutingMission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MissionStreamServiceTest {
+
+    MissionStreamService missionStreamService = new MissionStreamService(Duration.ofMillis(200), Duration.ofMinutes(1));
+    CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        missionStreamService.stop();
+    }
+
+    @Test
+    void stalledClientIsDroppedWithoutDelayingOthers() throws Exception {
+        RecordingEmitter stalled = new RecordingEmitter(unblock);
+        RecordingEmitter otherTab = new RecordingEmitter(null);
+        RecordingEmitter otherUser = new RecordingEmitter(null);
+        missionStreamService.subscribe(1L, stalled);
+        missionStreamService.subscribe(1L, otherTab);
+        missionStreamService.subscribe(2L, otherUser);
+
+        missionStreamService.publish(mission(1L, 1L), 0);
+        missionStreamService.publish(mission(2L, 2L), 0);
+
+        assertTrue(otherTab.sent.tryAcquire(100, TimeUnit.MILLISECONDS));
+        assertTrue(otherUser.sent.tryAcquire(100, TimeUnit.MILLISECONDS));
+        assertTrue(stalled.completedWithError.await(1, TimeUnit.SECONDS));
+        assertEquals(1, missionStreamService.getSubscriberCount(1L));
+
+        missionStreamService.publish(mission(3L, 1L), 0);
+        assertTrue(otherTab.sent.tryAcquire(100, TimeUnit.MILLISECONDS));
+    }
+
+    private static ScoutingMission mission(long id, long userId) {
+        return ScoutingMission.builder()
+                .id(id)
+                .user(UserEntity.builder().id(userId).build())
+                .currentStatus(MissionStatus.EN_ROUTE)
+                .currentObjectiveTime(LocalDateTime.of(2023, 5, 1, 12, 0))
+                .events(List.of())
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch blockUntil;
+        private final Semaphore sent = new Semaphore(0);
+        private final CountDownLatch completedWithError = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch blockUntil) {
+            this.blockUntil = blockUntil;
+        }
+
+        // stands in for a client whose socket stopped draining
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.release();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completedWithError.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.auth.UserPrincipal;
+import com.codecool.spaceship.model.Role;
+import com.codecool.spaceship.model.exception.PlayerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerLaneExecutorTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PlayerLaneExecutor playerLaneExecutor = new PlayerLaneExecutor(meterRegistry, 200, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void operationsOfOnePlayerRunOneAtATime() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(CompletableFuture.runAsync(() -> playerLaneExecutor.execute(1L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                int value = counter.get();
+                Thread.yield();
+                counter.set(value + 1);
+                running.decrementAndGet();
+                return null;
+            })));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(100, counter.get());
+        assertEquals(100, meterRegistry.get("spaceship.player.lane.wait").timer().count());
+        assertEquals(0, playerLaneExecutor.getQueueDepth());
+    }
+
+    @Test
+    void differentPlayersDoNotBlockEachOther() throws Exception {
+        CountDownLatch secondPlayerRan = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> playerLaneExecutor.execute(1L, () -> {
+            try {
+                return secondPlayerRan.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }));
+        playerLaneExecutor.execute(2L, () -> {
+            secondPlayerRan.countDown();
+            return null;
+        });
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedCallsRunInlineAndExceptionsPropagate() {
+        assertEquals(7, playerLaneExecutor.execute(1L, () -> playerLaneExecutor.execute(1L, () -> 7)));
+        assertThrows(IllegalArgumentException.class, () -> playerLaneExecutor.execute(1L, () -> {
+            throw new IllegalArgumentException("rejected");
+        }));
+    }
+
+    @Test
+    void busyLaneRejectsInsteadOfWaitingForever() throws Exception {
+        PlayerLaneExecutor executor = new PlayerLaneExecutor(meterRegistry, 1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> executor.execute(1L, () -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PlayerBusyException.class, () -> executor.execute(1L, () -> null));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(3, executor.execute(1L, () -> 3));
+    }
+
+    @Test
+    void ownerLaneFallsBackToCallerForUnknownIds() throws Exception {
+        UserPrincipal admin = new UserPrincipal(9L, "admin", Role.ADMIN, null);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> owner = CompletableFuture.runAsync(() -> playerLaneExecutor.execute(4L, () -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        assertEquals(3, playerLaneExecutor.executeForOwner(7L, id -> Optional.empty(), () -> 3));
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> playerLaneExecutor.executeForOwner(7L, id -> Optional.of(4L), () -> 2));
+        Thread.sleep(50);
+        assertFalse(queued.isDone());
+        release.countDown();
+        owner.get(5, TimeUnit.SECONDS);
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,25 @@
+package com.codecool.spaceship.service;
+
+import com.codecool.spaceship.model.mission.Mission;
+import com.codecool.spaceship.model.mission.ScoutingMission;
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RandomProviderTest {
+
+    RandomProvider randomProvider = new RandomProvider();
+
+    @Test
+    void missionStreamIsReproducibleFromSeed() {
+        Mission mission = ScoutingMission.builder().seed(randomProvider.newSeed()).build();
+
+        assertArrayEquals(draw(randomProvider.forMission(mission)), draw(randomProvider.forMission(mission)));
+    }
+
+    private static int[] draw(RandomGenerator random) {
+        return random.ints(20, 0, 1000).toArray();
+    }
+}